@@ -0,0 +1,38 @@
+-- Move entity ids from IDENTITY/serial columns to pooled sequences.
+--
+-- Hibernate now allocates ids from "<table>_seq" sequences in blocks of 50
+-- (see BaseEntity), which is what makes JDBC insert batching possible.
+-- Run once against an existing database before deploying the new version;
+-- fresh databases get the sequences from the schema generator.
+--
+-- The pooled optimizer treats each sequence value as the upper end of a block
+-- (value - 49 .. value], so every sequence starts at MAX(id) + 50 to keep new
+-- ids above the existing ones. Sequences that already exist are left untouched.
+
+DO $$
+DECLARE
+    m          record;
+    next_start bigint;
+BEGIN
+    FOR m IN SELECT * FROM (VALUES
+            ('accounts',   'accounts_seq'),
+            ('categories', 'categories_seq'),
+            ('clients',    'clients_seq'),
+            ('properties', 'properties_seq'),
+            ('roles',      'roles_seq'),
+            ('users',      'users_seq')
+        ) AS t(table_name, sequence_name)
+    LOOP
+        CONTINUE WHEN to_regclass(m.table_name) IS NULL
+                   OR to_regclass(m.sequence_name) IS NOT NULL;
+
+        -- Hibernate assigns ids from now on; drop the database-side generators
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', m.table_name);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', m.table_name);
+
+        EXECUTE format('SELECT COALESCE(MAX(id), 0) + 50 FROM %I', m.table_name) INTO next_start;
+        EXECUTE format('CREATE SEQUENCE %I START WITH %s INCREMENT BY 50', m.sequence_name, next_start);
+
+        RAISE NOTICE 'Table % now uses sequence % (starting at %)', m.table_name, m.sequence_name, next_start;
+    END LOOP;
+END $$;
@@ -0,0 +1,35 @@
+-- Indexes backing GET /api/properties/search (see the @Table indexes on Property).
+--
+-- Fresh databases get these from the schema generator; run this once against
+-- an existing database. CONCURRENTLY avoids locking the table for writes, so
+-- run the file with autocommit on (psql -f), not inside a transaction.
+--
+-- Equality filters (type, status) lead and the range/sort column comes last,
+-- so "type IN (..) AND status = .. AND price BETWEEN .. ORDER BY price" is a
+-- single index range scan. The same names as the generated indexes are used,
+-- so the schema generator will not create duplicates. Here they are partial
+-- (active rows only), which the JPA annotations cannot express.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_type_status_price
+    ON properties (property_type, status, price) WHERE deleted = false;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_status_price
+    ON properties (status, price) WHERE deleted = false;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_status_bedrooms
+    ON properties (status, bedrooms) WHERE deleted = false;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_price
+    ON properties (price) WHERE deleted = false;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_size
+    ON properties (size_sqm) WHERE deleted = false;
+
+-- Postgres does not index foreign keys on its own; owner/category filters need these
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_account_id
+    ON properties (account_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_category_id
+    ON properties (category_id);
+
+ANALYZE properties;
@@ -0,0 +1,10 @@
+-- Latitude/longitude on properties for the geospatial search endpoints
+-- (/api/properties/geo/*). Fresh databases get the columns from the schema
+-- generator; run this once against an existing database, then backfill
+-- coordinates from the gazetteer with POST /api/properties/geocode.
+--
+-- Spatial queries are answered by the in-memory index (PropertySearchIndex),
+-- so no spatial index is needed here.
+
+ALTER TABLE properties ADD COLUMN IF NOT EXISTS latitude double precision;
+ALTER TABLE properties ADD COLUMN IF NOT EXISTS longitude double precision;
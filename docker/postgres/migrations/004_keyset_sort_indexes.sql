@@ -0,0 +1,19 @@
+-- (sort column, id) indexes backing GET /api/properties/scroll?sort=price|size
+-- (see BaseServiceImpl#findAllByCursor and the @Table indexes on Property).
+--
+-- A keyset page seeks with "(price, id) > (:price, :lastId)", which is a
+-- single range scan only when the index carries id after the sort column.
+-- They supersede the single-column price/size indexes from 002, which are
+-- dropped once the replacements exist. Run with autocommit on (psql -f).
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_price_id
+    ON properties (price, id) WHERE deleted = false;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_size_id
+    ON properties (size_sqm, id) WHERE deleted = false;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_properties_price;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_properties_size;
+
+ANALYZE properties;
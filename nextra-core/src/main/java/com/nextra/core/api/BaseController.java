@@ -1,14 +1,24 @@
 package com.nextra.core.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nextra.core.common.exceptions.BadRequestException;
+import com.nextra.core.persistence.pagination.CursorPage;
 import com.nextra.core.persistence.service.BaseService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -18,8 +28,13 @@ import java.util.Optional;
 @Slf4j
 public abstract class BaseController<T, ID> {
 
+    private static final int MAX_SCROLL_SIZE = 200;
+
     protected final BaseService<T, ID> service;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     protected BaseController(BaseService<T, ID> service) {
         this.service = service;
     }
@@ -33,16 +48,68 @@ public abstract class BaseController<T, ID> {
     }
 
     // 🔹 READ ALL (paginated or not)
+    // total=exact (default) counts every request, approximate uses a cached
+    // count, none skips counting entirely
     @GetMapping
-    public ResponseEntity<ApiResponse<PagedResponse<T>>> getAll(@PageableDefault(size = 10, sort = "id") Pageable pageable) {
-        log.info("➡️ [GET] Fetching all entities (page={}, size={}, sort={})",
-                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+    public ResponseEntity<ApiResponse<PagedResponse<T>>> getAll(@PageableDefault(size = 10, sort = "id") Pageable pageable,
+                                                                @RequestParam(defaultValue = "exact") String total) {
+        log.info("➡️ [GET] Fetching all entities (page={}, size={}, sort={}, total={})",
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), total);
 
-        Page<T> page = service.findAll(pageable);
-        PagedResponse<T> paged = PagedResponse.from(page);
+        PagedResponse<T> paged = switch (total.toLowerCase(Locale.ROOT)) {
+            case "exact" -> PagedResponse.from(service.findAll(pageable));
+            case "approximate" -> PagedResponse.from(service.findSlice(pageable), service.approximateCount());
+            case "none" -> PagedResponse.from(service.findSlice(pageable));
+            default -> throw new BadRequestException("total must be one of: exact, approximate, none");
+        };
         return ResponseEntity.ok(ApiResponse.ok(paged));
     }
 
+    // 🔹 READ ALL (keyset / cursor based, constant cost at any depth)
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<T>>> scroll(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "20") int size,
+                                                              @RequestParam(defaultValue = "id") String sort,
+                                                              @RequestParam(defaultValue = "asc") String direction,
+                                                              @RequestParam(defaultValue = "false") boolean withTotal) {
+        log.info("➡️ [GET] Scrolling entities (size={}, sort={},{}, cursor={})", size, sort, direction, cursor != null);
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new BadRequestException("Invalid sort direction: " + direction));
+        CursorPage<T> page = service.findAllByCursor(cursor, size, new Sort.Order(sortDirection, sort), withTotal);
+        return ResponseEntity.ok(ApiResponse.ok(page));
+    }
+
+    // 🔹 EXPORT (streamed row by row, constant memory)
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       @RequestParam(defaultValue = "false") boolean includeDeleted,
+                       HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromKey(format)
+                .orElseThrow(() -> new BadRequestException("Unsupported export format: " + format));
+        log.info("➡️ [GET] Exporting entities as {} (includeDeleted={})", exportFormat, includeDeleted);
+
+        response.setContentType(exportFormat.getMediaType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"export" + exportFormat.getExtension() + "\"");
+
+        try (ExportWriter writer = ExportWriter.open(exportFormat, response.getOutputStream(), objectMapper)) {
+            long count = service.streamAll(includeDeleted, entity -> writer.write(toExportView(entity)));
+            log.info("✅ Exported {} entities as {}", count, exportFormat);
+        }
+    }
+
+    /**
+     * Shape written for each exported entity. Called while the entity is still
+     * attached, so lazy relations can be read; override to export a DTO.
+     */
+    protected Object toExportView(T entity) {
+        return entity;
+    }
+
     // 🔹 READ BY ID
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<T>> getById(@PathVariable("id") ID id) {
@@ -67,22 +134,35 @@ public abstract class BaseController<T, ID> {
         return ResponseEntity.ok(ApiResponse.ok(null));
     }
 
-    // 🔹 RESTORE (if supported)
+    // 🔹 RESTORE
     @PatchMapping("/{id}/restore")
     public ResponseEntity<ApiResponse<Void>> restore(@PathVariable("id") ID id) {
         log.info("➡️ [PATCH] Restoring entity with id: {}", id);
-        try {
-            var method = service.getClass().getMethod("restore", id.getClass());
-            method.invoke(service, id);
-            return ResponseEntity.ok(ApiResponse.ok(null));
-        } catch (NoSuchMethodException e) {
-            log.error("Restore not supported for entity type {}", service.getClass());
-            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
-                    .body(ApiResponse.error("Restore not supported for this entity"));
-        } catch (Exception e) {
-            log.error("Error restoring entity: {}", e.getMessage());
-            return ResponseEntity.internalServerError()
-                    .body(ApiResponse.error("Error restoring entity"));
+        service.restore(id);
+        return ResponseEntity.ok(ApiResponse.ok(null));
+    }
+
+    // 🔹 BATCH SOFT DELETE
+    @PostMapping("/batch/delete")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> deleteBatch(@RequestBody List<ID> ids) {
+        log.warn("➡️ [POST] Batch soft deleting {} entities", ids == null ? 0 : ids.size());
+        requireIds(ids);
+        int deleted = service.deleteAll(ids);
+        return ResponseEntity.ok(ApiResponse.ok(Map.of("requested", ids.size(), "affected", deleted)));
+    }
+
+    // 🔹 BATCH RESTORE
+    @PostMapping("/batch/restore")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> restoreBatch(@RequestBody List<ID> ids) {
+        log.info("➡️ [POST] Batch restoring {} entities", ids == null ? 0 : ids.size());
+        requireIds(ids);
+        int restored = service.restoreAll(ids);
+        return ResponseEntity.ok(ApiResponse.ok(Map.of("requested", ids.size(), "affected", restored)));
+    }
+
+    private void requireIds(List<ID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one id is required");
         }
     }
 }
@@ -0,0 +1,42 @@
+package com.nextra.core.api;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Formats supported by the streaming export endpoint.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", ".ndjson"),
+    CSV("text/csv", ".csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static Optional<ExportFormat> fromKey(String key) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(key)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
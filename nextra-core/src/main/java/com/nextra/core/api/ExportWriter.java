@@ -0,0 +1,136 @@
+package com.nextra.core.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Writes exported rows one at a time to a response stream.
+ *
+ * NDJSON emits one compact JSON document per line. CSV takes its header from
+ * the first row's properties; arrays are joined with "|" and nested objects
+ * are written as JSON, so an export can be fed back to the import endpoints.
+ */
+public abstract class ExportWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final Writer out;
+
+    protected ExportWriter(OutputStream stream) {
+        this.out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    public static ExportWriter open(ExportFormat format, OutputStream stream, ObjectMapper mapper) {
+        return format == ExportFormat.CSV ? new Csv(stream, mapper) : new Ndjson(stream, mapper);
+    }
+
+    /**
+     * @throws UncheckedIOException if the client went away or the stream failed
+     */
+    public void write(Object row) {
+        try {
+            writeRow(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected abstract void writeRow(Object row) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+
+    private static final class Ndjson extends ExportWriter {
+
+        private final ObjectWriter writer;
+
+        Ndjson(OutputStream stream, ObjectMapper mapper) {
+            super(stream);
+            this.writer = mapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        }
+
+        @Override
+        protected void writeRow(Object row) throws IOException {
+            out.write(writer.writeValueAsString(row));
+            out.write('\n');
+        }
+    }
+
+    private static final class Csv extends ExportWriter {
+
+        private final ObjectMapper mapper;
+        private List<String> header;
+
+        Csv(OutputStream stream, ObjectMapper mapper) {
+            super(stream);
+            this.mapper = mapper;
+        }
+
+        @Override
+        protected void writeRow(Object row) throws IOException {
+            JsonNode node = mapper.valueToTree(row);
+            if (header == null) {
+                header = new ArrayList<>();
+                node.fieldNames().forEachRemaining(header::add);
+                writeLine(header);
+            }
+            List<String> values = new ArrayList<>(header.size());
+            for (String column : header) {
+                values.add(text(node.get(column)));
+            }
+            writeLine(values);
+        }
+
+        private void writeLine(List<String> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(escape(values.get(i)));
+            }
+            out.write("\r\n");
+        }
+
+        private static String text(JsonNode value) {
+            if (value == null || value.isNull()) {
+                return "";
+            }
+            if (value.isArray()) {
+                StringJoiner joined = new StringJoiner("|");
+                for (Iterator<JsonNode> it = value.elements(); it.hasNext(); ) {
+                    joined.add(text(it.next()));
+                }
+                return joined.toString();
+            }
+            if (value.isBigDecimal()) {
+                return value.decimalValue().toPlainString();
+            }
+            return value.isValueNode() ? value.asText() : value.toString();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
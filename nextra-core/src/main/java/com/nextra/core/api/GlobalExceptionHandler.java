@@ -2,9 +2,12 @@ package com.nextra.core.api;
 
 import com.nextra.core.common.exceptions.BadRequestException;
 import com.nextra.core.common.exceptions.ResourceNotFoundException;
+import com.nextra.core.common.exceptions.SqlBudgetExceededException;
+import com.nextra.core.common.exceptions.TooManyRequestsException;
 import com.nextra.core.common.exceptions.UnauthorizedException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -39,6 +42,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error(ex.getMessage()));
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<?>> handleTooManyRequests(TooManyRequestsException ex) {
+        log.warn("🚦 Too many requests: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(SqlBudgetExceededException.class)
+    public ResponseEntity<ApiResponse<?>> handleSqlBudget(SqlBudgetExceededException ex) {
+        log.error("🧮 {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(ex.getMessage()));
+    }
+
     @ExceptionHandler({MethodArgumentNotValidException.class, BindException.class})
     public ResponseEntity<ApiResponse<?>> handleValidation(Exception ex) {
         Map<String, String> errors;
@@ -1,10 +1,16 @@
 package com.nextra.core.api;
 
+import com.nextra.core.persistence.pagination.TotalAccuracy;
 import lombok.*;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
+/**
+ * Offset-based page. {@code totalAccuracy} tells how {@code totalElements} and
+ * {@code totalPages} were obtained; both are null when it is UNKNOWN.
+ */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -13,9 +19,11 @@ public class PagedResponse<T> {
     private List<T> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean last;
+    @Builder.Default
+    private TotalAccuracy totalAccuracy = TotalAccuracy.EXACT;
 
     public static <T> PagedResponse<T> from(Page<T> page) {
         return PagedResponse.<T>builder()
@@ -25,6 +33,53 @@ public class PagedResponse<T> {
                 .totalElements(page.getTotalElements())
                 .totalPages(page.getTotalPages())
                 .last(page.isLast())
+                .totalAccuracy(TotalAccuracy.EXACT)
+                .build();
+    }
+
+    /**
+     * Page without totals; clients stop when {@code last} is true.
+     */
+    public static <T> PagedResponse<T> from(Slice<T> slice) {
+        return PagedResponse.<T>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .last(slice.isLast())
+                .totalAccuracy(TotalAccuracy.UNKNOWN)
+                .build();
+    }
+
+    /**
+     * Page with an approximate total. The estimate is clamped to what the slice
+     * proves: at least the rows seen so far, and exact on the last page. A page
+     * past the end is empty and "last" too, but only bounds the total from
+     * above, so it keeps the estimate.
+     */
+    public static <T> PagedResponse<T> from(Slice<T> slice, long approximateTotal) {
+        long offset = slice.getPageable().isPaged() ? slice.getPageable().getOffset() : 0;
+        long seen = offset + slice.getNumberOfElements();
+        long total;
+        TotalAccuracy accuracy;
+        if (slice.isLast() && !slice.hasContent() && offset > 0) {
+            total = approximateTotal;
+            accuracy = TotalAccuracy.APPROXIMATE;
+        } else if (slice.isLast()) {
+            total = seen;
+            accuracy = TotalAccuracy.EXACT;
+        } else {
+            total = Math.max(approximateTotal, seen + 1);
+            accuracy = TotalAccuracy.APPROXIMATE;
+        }
+        int pageSize = Math.max(1, slice.getSize());
+        return PagedResponse.<T>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .totalElements(total)
+                .totalPages((int) ((total + pageSize - 1) / pageSize))
+                .last(slice.isLast())
+                .totalAccuracy(accuracy)
                 .build();
     }
 }
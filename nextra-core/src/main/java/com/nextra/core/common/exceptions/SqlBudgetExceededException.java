@@ -0,0 +1,7 @@
+package com.nextra.core.common.exceptions;
+
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -33,7 +33,8 @@ public class CorsConfig {
         configuration.setAllowCredentials(true);
         
         // Expose headers to frontend
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-Correlation-Id"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-Correlation-Id",
+            "X-Sql-Statements", "X-Sql-Entity-Loads", "X-Sql-Collection-Fetches", "X-Sql-Time-Ms"));
         
         // Max age for preflight requests
         configuration.setMaxAge(3600L);
@@ -0,0 +1,44 @@
+package com.nextra.core.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.nextra.core.persistence.cache.BoundedJCacheRegionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Enables Hibernate's second-level and query caches.
+ *
+ * Only entities annotated with {@code @Cacheable} and
+ * {@code @org.hibernate.annotations.Cache} are cached, and only queries with
+ * the {@code org.hibernate.cacheable} hint use the query cache. Bulk JPQL
+ * updates (softDelete/restore in BaseRepository) make Hibernate evict the
+ * affected entity region and invalidate cached queries on that table.
+ *
+ * Disable with {@code persistence.cache.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "persistence.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public BoundedJCacheRegionFactory cacheRegionFactory(Environment environment) {
+        return new BoundedJCacheRegionFactory(environment);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(BoundedJCacheRegionFactory regionFactory) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+            properties.put(ConfigSettings.PROVIDER, CaffeineCachingProvider.class.getName());
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.CREATE.getExternalRepresentation());
+        };
+    }
+}
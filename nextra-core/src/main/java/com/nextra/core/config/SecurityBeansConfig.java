@@ -1,7 +1,11 @@
 package com.nextra.core.config;
 
+import com.nextra.core.logging.MdcTaskDecorator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -9,11 +13,75 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  * Security-related shared beans that must be independent
  * from the main SecurityConfig to avoid circular dependencies.
  */
+@Slf4j
 @Configuration
 public class SecurityBeansConfig {
 
+    static final int MIN_BCRYPT_STRENGTH = 10;
+    static final int MAX_BCRYPT_STRENGTH = 16;
+
+    /**
+     * BCrypt encoder whose cost is either fixed ({@code security.password.bcrypt-strength})
+     * or calibrated at startup to the largest cost that hashes within
+     * {@code security.password.target-hash-ms} on this machine.
+     *
+     * Every hash embeds its own cost, so changing it never breaks stored
+     * passwords: weaker hashes keep verifying and are re-encoded on the next
+     * successful login (see UserDetailsServiceImpl#updatePassword).
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt-strength:-1}") int strength,
+            @Value("${security.password.target-hash-ms:100}") long targetHashMs) {
+        if (strength < 0) {
+            strength = calibrateStrength(targetHashMs);
+        }
+        log.info("🔐 BCrypt password encoder strength: {}", strength);
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Dedicated pool for login hashing, so a login storm cannot pin the
+     * servlet threads. When the queue is full submissions are rejected and
+     * the caller answers 429. Tasks keep the request's MDC.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public ThreadPoolTaskExecutor loginExecutor(
+            @Value("${security.login.threads:0}") int threads,
+            @Value("${security.login.queue-capacity:100}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Each step doubles the work, so walk up from the minimum until the next
+     * cost would overshoot the target.
+     */
+    static int calibrateStrength(long targetHashMs) {
+        // warm up, the first hash in a cold JVM is dominated by class loading and JIT
+        timeHash(4);
+        int strength = MIN_BCRYPT_STRENGTH;
+        long elapsed = timeHash(strength);
+        while (strength < MAX_BCRYPT_STRENGTH && elapsed * 2 <= targetHashMs) {
+            strength++;
+            elapsed = timeHash(strength);
+        }
+        log.debug("BCrypt calibration: strength {} took {} ms (target {} ms)", strength, elapsed, targetHashMs);
+        return strength;
+    }
+
+    private static long timeHash(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode("calibration-password");
+        return (System.nanoTime() - start) / 1_000_000;
     }
 }
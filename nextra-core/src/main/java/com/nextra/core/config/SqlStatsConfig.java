@@ -0,0 +1,63 @@
+package com.nextra.core.config;
+
+import com.nextra.core.logging.HibernateStatsInterceptor;
+import com.nextra.core.logging.SqlBudgetInterceptor;
+import com.nextra.core.logging.SqlTimingSessionListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Wires per-request SQL statistics into Hibernate and Spring MVC.
+ */
+@Configuration
+public class SqlStatsConfig implements WebMvcConfigurer {
+
+    private final SqlBudgetInterceptor sqlBudgetInterceptor;
+
+    public SqlStatsConfig(SqlBudgetInterceptor sqlBudgetInterceptor) {
+        this.sqlBudgetInterceptor = sqlBudgetInterceptor;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatsCustomizer(HibernateStatsInterceptor statsInterceptor) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, statsInterceptor);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingSessionListener.class.getName());
+            properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(new ListenerIntegrator(statsInterceptor)));
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlBudgetInterceptor);
+    }
+
+    private record ListenerIntegrator(HibernateStatsInterceptor statsInterceptor) implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_LOAD, statsInterceptor);
+            registry.appendListeners(EventType.INIT_COLLECTION, statsInterceptor);
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.nextra.core.importer;
+
+import com.nextra.core.importer.reader.CsvRecordReader;
+import com.nextra.core.importer.reader.JsonRecordReader;
+import com.nextra.core.importer.reader.RecordReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Supported upload formats.
+ */
+public enum ImportFormat {
+    CSV(".csv"),
+    JSON(".json");
+
+    private final String extension;
+
+    ImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public RecordReader open(InputStream in) throws IOException {
+        return this == CSV ? new CsvRecordReader(in) : new JsonRecordReader(in);
+    }
+
+    /**
+     * Detect the format from the file extension, falling back to the content type.
+     */
+    public static Optional<ImportFormat> detect(String filename, String contentType) {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv") || type.contains("csv")) {
+            return Optional.of(CSV);
+        }
+        if (name.endsWith(".json") || type.contains("json")) {
+            return Optional.of(JSON);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,95 @@
+package com.nextra.core.importer;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mutable state of a running import. Written by the import worker only,
+ * read concurrently through {@link #toReport()}.
+ */
+class ImportJob {
+
+    private final String id;
+    private final String entityType;
+    private final long totalBytes;
+    private final int maxErrors;
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<RowError> errors = new ArrayList<>();
+
+    private volatile ImportStatus status = ImportStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String message;
+
+    ImportJob(String id, String entityType, long totalBytes, int maxErrors) {
+        this.id = id;
+        this.entityType = entityType;
+        this.totalBytes = totalBytes;
+        this.maxErrors = maxErrors;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        status = ImportStatus.RUNNING;
+    }
+
+    void complete() {
+        bytesRead.set(totalBytes);
+        finish(ImportStatus.COMPLETED, null);
+    }
+
+    void fail(String reason) {
+        finish(ImportStatus.FAILED, reason);
+    }
+
+    void progress(long bytes) {
+        bytesRead.set(bytes);
+    }
+
+    /**
+     * Record the outcome of a chunk: {@code rows} processed, of which {@code rowErrors} were rejected.
+     */
+    void recordChunk(int rows, Collection<RowError> rowErrors) {
+        processed.addAndGet(rows);
+        imported.addAndGet(rows - rowErrors.size());
+        failed.addAndGet(rowErrors.size());
+        synchronized (errors) {
+            for (RowError error : rowErrors) {
+                if (errors.size() >= maxErrors) {
+                    break;
+                }
+                errors.add(error);
+            }
+        }
+    }
+
+    ImportReport toReport() {
+        List<RowError> errorSnapshot;
+        synchronized (errors) {
+            errorSnapshot = List.copyOf(errors);
+        }
+        return new ImportReport(id, entityType, status, totalBytes, bytesRead.get(),
+                processed.get(), imported.get(), failed.get(), startedAt, finishedAt, message, errorSnapshot);
+    }
+
+    private void finish(ImportStatus finalStatus, String reason) {
+        message = reason;
+        finishedAt = Instant.now();
+        status = finalStatus;
+    }
+}
@@ -0,0 +1,32 @@
+package com.nextra.core.importer;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Snapshot of an import job, returned on submission and by the progress endpoint.
+ */
+public record ImportReport(
+        String jobId,
+        String entityType,
+        ImportStatus status,
+        long totalBytes,
+        long bytesRead,
+        long processedRows,
+        long importedRows,
+        long failedRows,
+        Instant startedAt,
+        Instant finishedAt,
+        String message,
+        List<RowError> errors
+) {
+    /**
+     * Progress based on the bytes consumed so far (0-100).
+     */
+    public int getProgressPercent() {
+        if (status == ImportStatus.COMPLETED) {
+            return 100;
+        }
+        return totalBytes > 0 ? (int) Math.min(100, bytesRead * 100 / totalBytes) : 0;
+    }
+}
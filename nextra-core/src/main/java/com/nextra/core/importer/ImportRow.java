@@ -0,0 +1,111 @@
+package com.nextra.core.importer;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One record of an import, with column names matched case-insensitively.
+ *
+ * Blank values are treated as missing. Typed getters throw
+ * IllegalArgumentException with a message naming the column, which the
+ * import turns into a row error.
+ */
+public class ImportRow {
+
+    /** Separator for multi-valued columns (e.g. "a.jpg|b.jpg"). */
+    public static final String LIST_SEPARATOR = "|";
+
+    private final long number;
+    private final Map<String, String> values;
+
+    public ImportRow(long number, Map<String, String> values) {
+        this.number = number;
+        this.values = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.values.putAll(values);
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+    public String get(String column) {
+        String value = values.get(column);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    public String require(String column) {
+        String value = get(column);
+        if (value == null) {
+            throw new IllegalArgumentException("'" + column + "' is required");
+        }
+        return value;
+    }
+
+    public BigDecimal getDecimal(String column) {
+        String value = get(column);
+        try {
+            return value == null ? null : new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw invalid(column, value, "a number");
+        }
+    }
+
+    public Double getDouble(String column) {
+        String value = get(column);
+        try {
+            return value == null ? null : Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw invalid(column, value, "a number");
+        }
+    }
+
+    public Integer getInteger(String column) {
+        String value = get(column);
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw invalid(column, value, "an integer");
+        }
+    }
+
+    public Long getLong(String column) {
+        String value = get(column);
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw invalid(column, value, "an integer");
+        }
+    }
+
+    public <E extends Enum<E>> E getEnum(String column, Class<E> type) {
+        String value = get(column);
+        try {
+            return value == null ? null : Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw invalid(column, value, "one of " + Arrays.toString(type.getEnumConstants()));
+        }
+    }
+
+    public List<String> getList(String column) {
+        String value = get(column);
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(value.split("\\|"))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    private static IllegalArgumentException invalid(String column, String value, String expected) {
+        return new IllegalArgumentException("'" + column + "' must be " + expected + ", got '" + value + "'");
+    }
+}
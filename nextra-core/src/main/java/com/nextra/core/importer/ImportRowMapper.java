@@ -0,0 +1,15 @@
+package com.nextra.core.importer;
+
+/**
+ * Turns one imported record into an entity ready to persist.
+ *
+ * Called inside the chunk transaction, so implementations may use
+ * {@code EntityManager#getReference} for relations. Throw a RuntimeException
+ * (typically IllegalArgumentException) to reject the row; its message ends up
+ * in the import report.
+ */
+@FunctionalInterface
+public interface ImportRowMapper<T> {
+
+    T map(ImportRow row);
+}
@@ -0,0 +1,263 @@
+package com.nextra.core.importer;
+
+import com.nextra.core.common.exceptions.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs bulk imports in the background.
+ *
+ * The upload is spooled to a temp file, then read record by record and
+ * written in chunks of {@code import.chunk-size}: each chunk is one
+ * transaction that persists, flushes (batched INSERTs, see BaseEntity ids)
+ * and clears the persistence context, so memory stays flat however large
+ * the file. Rows the mapper rejects become row errors; if a chunk fails at
+ * the database (e.g. a unique constraint), it is replayed row by row to
+ * isolate the offending records.
+ *
+ * Progress is available through {@link #getReport(String)} while the job
+ * runs and for {@code import.job-retention-minutes} after it ends.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportService {
+
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${import.workers:2}")
+    private int workers;
+
+    @Value("${import.max-errors:1000}")
+    private int maxErrors;
+
+    @Value("${import.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Spool the upload and queue its import.
+     *
+     * @param entityType Label shown in the report (e.g. "Property")
+     * @param mapper     Converts each record into an entity to persist
+     * @return the initial report; poll {@link #getReport(String)} with its job id
+     */
+    public <T> ImportReport submit(String entityType, MultipartFile file, ImportRowMapper<T> mapper) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Import file is empty");
+        }
+        ImportFormat format = ImportFormat.detect(file.getOriginalFilename(), file.getContentType())
+                .orElseThrow(() -> new BadRequestException("Unsupported import format, expected .csv or .json"));
+
+        Path upload = Files.createTempFile("nextra-import-", format.getExtension());
+        try {
+            file.transferTo(upload);
+        } catch (IOException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+
+        pruneFinishedJobs();
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), entityType, Files.size(upload), maxErrors);
+        jobs.put(job.getId(), job);
+
+        // keep the uploader as auditor for the rows written by the worker
+        Authentication uploader = SecurityContextHolder.getContext().getAuthentication();
+        executor.execute(() -> run(job, upload, format, mapper, uploader));
+
+        log.info("📥 Import {} queued: {} {} ({} bytes)", job.getId(), entityType, format, Files.size(upload));
+        return job.toReport();
+    }
+
+    public Optional<ImportReport> getReport(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(ImportJob::toReport);
+    }
+
+    private <T> void run(ImportJob job, Path upload, ImportFormat format,
+                         ImportRowMapper<T> mapper, Authentication uploader) {
+        if (uploader != null) {
+            SecurityContextHolder.getContext().setAuthentication(uploader);
+        }
+        job.start();
+        long started = System.currentTimeMillis();
+
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(upload));
+             var reader = format.open(in)) {
+
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            long rowNumber = 0;
+            Map<String, String> record;
+            while ((record = reader.next()) != null) {
+                chunk.add(new ImportRow(++rowNumber, record));
+                if (chunk.size() == chunkSize) {
+                    writeChunk(job, chunk, mapper);
+                    chunk.clear();
+                    job.progress(in.getCount());
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(job, chunk, mapper);
+            }
+
+            job.complete();
+            ImportReport report = job.toReport();
+            log.info("✅ Import {} completed: {} imported, {} failed in {} ms",
+                    job.getId(), report.importedRows(), report.failedRows(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("❌ Import {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            SecurityContextHolder.clearContext();
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete import spool file {}", upload, e);
+            }
+        }
+    }
+
+    private <T> void writeChunk(ImportJob job, List<ImportRow> rows, ImportRowMapper<T> mapper) {
+        try {
+            List<RowError> rowErrors = transactionTemplate.execute(status -> {
+                List<RowError> errors = new ArrayList<>();
+                for (ImportRow row : rows) {
+                    T entity;
+                    try {
+                        entity = mapper.map(row);
+                    } catch (RuntimeException e) {
+                        errors.add(new RowError(row.getNumber(), e.getMessage()));
+                        continue;
+                    }
+                    entityManager.persist(entity);
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return errors;
+            });
+            job.recordChunk(rows.size(), rowErrors);
+        } catch (RuntimeException e) {
+            log.warn("Import {} chunk failed ({}), retrying {} rows individually",
+                    job.getId(), rootMessage(e), rows.size());
+            for (ImportRow row : rows) {
+                job.recordChunk(1, writeRow(row, mapper).stream().toList());
+            }
+        }
+    }
+
+    private <T> Optional<RowError> writeRow(ImportRow row, ImportRowMapper<T> mapper) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.persist(mapper.map(row));
+                entityManager.flush();
+                entityManager.clear();
+            });
+            return Optional.empty();
+        } catch (RuntimeException e) {
+            return Optional.of(new RowError(row.getNumber(), rootMessage(e)));
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(jobRetentionMinutes));
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    /**
+     * Tracks how far into the spool file the reader is, for progress reporting.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
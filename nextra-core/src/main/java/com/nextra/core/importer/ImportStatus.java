@@ -0,0 +1,8 @@
+package com.nextra.core.importer;
+
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.nextra.core.importer;
+
+/**
+ * A record that could not be imported.
+ *
+ * @param row     1-based record number in the upload (header excluded)
+ * @param message Why the record was rejected
+ */
+public record RowError(long row, String message) { }
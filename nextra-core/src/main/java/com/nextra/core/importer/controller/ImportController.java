@@ -0,0 +1,30 @@
+package com.nextra.core.importer.controller;
+
+import com.nextra.core.api.ApiResponse;
+import com.nextra.core.common.exceptions.ResourceNotFoundException;
+import com.nextra.core.importer.ImportReport;
+import com.nextra.core.importer.ImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Progress of bulk imports started by the entity-specific import endpoints.
+ */
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final ImportService importService;
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<ImportReport>> getReport(@PathVariable String jobId) {
+        return importService.getReport(jobId)
+                .map(report -> ResponseEntity.ok(ApiResponse.ok(report)))
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found: " + jobId));
+    }
+}
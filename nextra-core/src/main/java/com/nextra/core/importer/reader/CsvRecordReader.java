@@ -0,0 +1,130 @@
+package com.nextra.core.importer.reader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming RFC 4180 CSV reader (UTF-8, optional BOM).
+ *
+ * The first line is the header. Quoted fields may contain delimiters,
+ * doubled quotes and line breaks. The delimiter is ',' unless the header
+ * uses ';' (as spreadsheet exports in many European locales do).
+ * Blank lines are skipped; missing trailing fields read as null.
+ */
+public class CsvRecordReader implements RecordReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final char delimiter;
+    private final List<String> header;
+    private int pushedBack = -1;
+
+    public CsvRecordReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IOException("CSV upload is empty");
+        }
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+        this.delimiter = count(headerLine, ';') > count(headerLine, ',') ? ';' : ',';
+        List<String> columns = readRecord(new StringReader(headerLine));
+        this.header = columns == null ? List.of() : columns.stream().map(String::trim).toList();
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord(reader);
+            if (fields == null) {
+                return null;
+            }
+        } while (isBlank(fields));
+
+        Map<String, String> record = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            record.put(header.get(i), i < fields.size() ? fields.get(i) : null);
+        }
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readRecord(Reader in) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean started = false;
+
+        while (true) {
+            int c = read(in);
+            if (c == -1) {
+                if (inQuotes) {
+                    throw new IOException("Unterminated quoted field at end of CSV");
+                }
+                if (!started) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            started = true;
+
+            if (inQuotes) {
+                if (c == '"') {
+                    int next = read(in);
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        pushedBack = next;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                inQuotes = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int read(Reader in) throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return in.read();
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        return fields.stream().allMatch(String::isBlank);
+    }
+
+    private static int count(String s, char c) {
+        return (int) s.chars().filter(ch -> ch == c).count();
+    }
+}
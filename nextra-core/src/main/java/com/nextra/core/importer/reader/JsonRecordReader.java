@@ -0,0 +1,73 @@
+package com.nextra.core.importer.reader;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Streaming reader for a top-level JSON array of flat objects.
+ *
+ * Scalar values are read as text; arrays of scalars are joined with "|"
+ * (matching ImportRow#getList); nested objects are skipped.
+ */
+public class JsonRecordReader implements RecordReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+
+    public JsonRecordReader(InputStream in) throws IOException {
+        this.parser = JSON_FACTORY.createParser(in);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("JSON upload must be an array of objects");
+        }
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object at " + parser.currentLocation());
+        }
+
+        Map<String, String> record = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (value) {
+                case START_ARRAY -> record.put(name, readArray());
+                case START_OBJECT -> parser.skipChildren();
+                case VALUE_NULL -> record.put(name, null);
+                default -> record.put(name, parser.getText());
+            }
+        }
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private String readArray() throws IOException {
+        StringJoiner joined = new StringJoiner("|");
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            } else if (token != JsonToken.VALUE_NULL) {
+                joined.add(parser.getText());
+            }
+        }
+        return joined.toString();
+    }
+}
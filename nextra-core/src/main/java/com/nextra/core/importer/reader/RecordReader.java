@@ -0,0 +1,18 @@
+package com.nextra.core.importer.reader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Pull-based reader over an upload, one record at a time, so imports never
+ * hold the whole file in memory.
+ */
+public interface RecordReader extends Closeable {
+
+    /**
+     * @return the next record as column name to raw value, or null at the end
+     * @throws IOException if the input is malformed beyond recovery
+     */
+    Map<String, String> next() throws IOException;
+}
@@ -0,0 +1,30 @@
+package com.nextra.core.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cheap, unique-enough correlation ids: {@code <node>-<millis>-<counter>} in
+ * base 36, e.g. {@code a3k9f2-m2x7q1c4-1a2}.
+ *
+ * The node part is random once per JVM, the counter makes ids unique within
+ * it, and the timestamp keeps them roughly sortable. No SecureRandom, no
+ * locking: one atomic increment and a short string per request.
+ */
+public final class CorrelationIdGenerator {
+
+    private static final String NODE = Integer.toString(ThreadLocalRandom.current().nextInt(1 << 30), 36);
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    private CorrelationIdGenerator() { }
+
+    public static String next() {
+        return new StringBuilder(24)
+                .append(NODE)
+                .append('-')
+                .append(Long.toString(System.currentTimeMillis(), 36))
+                .append('-')
+                .append(Long.toString(COUNTER.incrementAndGet(), 36))
+                .toString();
+    }
+}
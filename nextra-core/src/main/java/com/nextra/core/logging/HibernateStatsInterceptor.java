@@ -1,38 +1,88 @@
 package com.nextra.core.logging;
 
-import jakarta.persistence.EntityManagerFactory;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.hibernate.SessionFactory;
-import org.hibernate.stat.Statistics;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.springframework.stereotype.Component;
 
+import java.io.Serial;
+
+/**
+ * Per-request Hibernate statistics.
+ *
+ * Registered as the session factory's {@link StatementInspector} and as a
+ * post-load / collection-initialization listener (see SqlStatsConfig), it
+ * counts into the {@link SqlRequestStats} bound to the current thread by
+ * {@link RequestLoggingFilter}. Unlike Hibernate's global Statistics,
+ * concurrent requests don't mix and nothing is counted outside a request.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class HibernateStatsInterceptor {
+public class HibernateStatsInterceptor implements StatementInspector, PostLoadEventListener, InitializeCollectionEventListener {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
-    private final EntityManagerFactory emf;
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
 
-    public long getQueryCount() {
-        SessionFactory sf = emf.unwrap(SessionFactory.class);
-        Statistics stats = sf.getStatistics();
-        return stats.getQueryExecutionCount();
+    /**
+     * Start collecting for the current thread.
+     */
+    public SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
     }
 
-    public void logStats(String correlationId) {
-        SessionFactory sf = emf.unwrap(SessionFactory.class);
-        Statistics stats = sf.getStatistics();
-        long totalFetches = stats.getEntityFetchCount() + stats.getCollectionFetchCount();
+    /**
+     * Continue collecting into {@code stats} on the current thread, e.g. on
+     * the async dispatch of a request that {@link #begin()} started elsewhere.
+     */
+    public void resume(SqlRequestStats stats) {
+        CURRENT.set(stats);
+    }
+
+    /**
+     * Stop collecting and return what was gathered.
+     */
+    public SqlRequestStats end() {
+        SqlRequestStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * Stats of the request running on this thread, or null outside a request.
+     */
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.onStatement(sql);
+        }
+        return sql;
+    }
 
-        log.debug("📊 [Stats:{}] Queries: {}, Entities Loaded: {}, Fetch Count: {}",
-                correlationId,
-                stats.getQueryExecutionCount(),
-                stats.getEntityLoadCount(),
-                totalFetches);
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.onEntityLoad();
+        }
     }
 
-    public void clear() {
-        emf.unwrap(SessionFactory.class).getStatistics().clear();
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.onCollectionFetch();
+        }
     }
 }
@@ -1,28 +0,0 @@
-package com.nextra.core.logging;
-
-import jakarta.servlet.*;
-import org.slf4j.MDC;
-import org.springframework.core.annotation.Order;
-import org.springframework.stereotype.Component;
-
-import java.io.IOException;
-import java.util.UUID;
-
-@Component
-@Order(1)
-public class RequestIdFilter implements Filter {
-    private static final String TRACE_ID = "traceId";
-
-    @Override
-    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
-            throws IOException, ServletException {
-        try {
-            if (MDC.get(TRACE_ID) == null) {
-                MDC.put(TRACE_ID, UUID.randomUUID().toString());
-            }
-            chain.doFilter(req, res);
-        } finally {
-            MDC.remove(TRACE_ID);
-        }
-    }
-}
@@ -7,15 +7,30 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.security.Principal;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
 
+/**
+ * Assigns the request's correlation id (MDC + response header), collects its
+ * SQL statistics and writes one access line when it completes. For an async
+ * request (e.g. login) that is the end of the async dispatch: the first
+ * dispatch hands its correlation id, start time and statistics over through
+ * request attributes.
+ *
+ * To keep logging off the hot path, only a sample
+ * ({@code logging.request.sample-rate}) of successful requests faster than
+ * {@code logging.request.slow-threshold-ms} is logged. Server errors and
+ * slow requests are always logged at WARN; client errors and requests with
+ * SQL budget or N+1 findings are always logged at INFO.
+ */
 @Slf4j
 @Component
 @Order(1) // runs early
@@ -23,50 +38,113 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
 
     public static final String CORRELATION_HEADER = "X-Correlation-Id";
     public static final String MDC_CORRELATION_ID = "correlationId";
-    public static final String MDC_METHOD = "method";
-    public static final String MDC_PATH = "path";
-    public static final String MDC_REMOTE_ADDR = "remoteAddr";
     public static final String MDC_USER = "user";
 
+    // accept caller ids only if they can't break the log line
+    private static final Pattern VALID_CORRELATION_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private static final String CORRELATION_ID_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".correlationId";
+    private static final String START_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".start";
+    private static final String SQL_STATS_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".sqlStats";
+
     @Autowired
     private HibernateStatsInterceptor hibernateStats;
 
+    /** Executions of one identical statement within a request that are reported as a likely N+1. */
+    @Value("${persistence.sql-budget.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    /** Fraction of successful, fast requests that get an access line (0..1). */
+    @Value("${logging.request.sample-rate:0.1}")
+    private double sampleRate;
+
+    @Value("${logging.request.slow-threshold-ms:500}")
+    private long slowThresholdMs;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
-        String correlationId = extractOrGenerateCorrelationId(request);
-        MDC.put(MDC_CORRELATION_ID, correlationId);
-        MDC.put(MDC_METHOD, request.getMethod());
-        MDC.put(MDC_PATH, request.getRequestURI());
-        MDC.put(MDC_REMOTE_ADDR, request.getRemoteAddr());
+        if (isAsyncDispatch(request)) {
+            hibernateStats.resume((SqlRequestStats) request.getAttribute(SQL_STATS_ATTRIBUTE));
+        } else {
+            String correlationId = extractOrGenerateCorrelationId(request);
+            response.setHeader(CORRELATION_HEADER, correlationId);
+            request.setAttribute(CORRELATION_ID_ATTRIBUTE, correlationId);
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            request.setAttribute(SQL_STATS_ATTRIBUTE, hibernateStats.begin());
+        }
+        MDC.put(MDC_CORRELATION_ID, (String) request.getAttribute(CORRELATION_ID_ATTRIBUTE));
         MDC.put(MDC_USER, extractUser(request));
 
-        response.setHeader(CORRELATION_HEADER, correlationId);
-
-        long start = System.nanoTime();
-
         try {
             filterChain.doFilter(request, response);
         } finally {
-            long durationMs = (System.nanoTime() - start) / 1_000_000;
-            int status = response.getStatus();
+            if (isAsyncStarted(request)) {
+                // the async dispatch writes the access line once the response is ready
+                hibernateStats.end();
+            } else {
+                logCompletion(request, response);
+            }
+            MDC.remove(MDC_CORRELATION_ID);
+            MDC.remove(MDC_USER);
+        }
+    }
 
-            log.info("Handled {} {} -> {} ({} ms)",
-                    request.getMethod(),
-                    request.getRequestURI(),
-                    status,
-                    durationMs);
+    /**
+     * Also run on the async dispatch, which completes the request.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private void logCompletion(HttpServletRequest request, HttpServletResponse response) {
+        long durationMs = (System.nanoTime() - (long) request.getAttribute(START_ATTRIBUTE)) / 1_000_000;
+        int status = response.getStatus();
+        SqlRequestStats sql = hibernateStats.end();
+        boolean problem = reportSqlProblems(sql);
 
-            MDC.clear();
+        if (status >= 500 || durationMs >= slowThresholdMs) {
+            log.warn("Handled {} {} -> {} ({} ms, {})",
+                    request.getMethod(), request.getRequestURI(), status, durationMs, sql);
+        } else if (log.isInfoEnabled() && (problem || status >= 400 || sampled())) {
+            log.info("Handled {} {} -> {} ({} ms, {})",
+                    request.getMethod(), request.getRequestURI(), status, durationMs, sql);
         }
     }
 
+    /**
+     * Log budget violations and likely N+1s.
+     *
+     * @return whether anything was reported
+     */
+    private boolean reportSqlProblems(SqlRequestStats sql) {
+        boolean reported = false;
+        if (sql.isOverBudget() && sql.markBudgetChecked()) {
+            log.warn("⚠️ SQL budget exceeded by {}: {} statements, budget {}",
+                    sql.getEndpoint(), sql.getStatements(), sql.getMaxStatements());
+            reported = true;
+        }
+        Map.Entry<String, Integer> repeated = sql.mostRepeatedStatement(repeatThreshold);
+        if (repeated != null) {
+            log.warn("🔁 Possible N+1: same statement executed {} times: {}", repeated.getValue(), repeated.getKey());
+            reported = true;
+        }
+        return reported || sql.isOverBudget();
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
     private String extractOrGenerateCorrelationId(HttpServletRequest req) {
         String incoming = req.getHeader(CORRELATION_HEADER);
-        return (StringUtils.hasText(incoming) ? incoming : UUID.randomUUID().toString());
+        return incoming != null && VALID_CORRELATION_ID.matcher(incoming).matches()
+                ? incoming
+                : CorrelationIdGenerator.next();
     }
 
     private String extractUser(HttpServletRequest req) {
@@ -0,0 +1,18 @@
+package com.nextra.core.logging;
+
+import java.lang.annotation.*;
+
+/**
+ * Maximum number of SQL statements a handler may issue per request.
+ * On a method it overrides the one on the controller class, which overrides
+ * {@code persistence.sql-budget.max-statements}.
+ *
+ * Exceeding it is logged; with {@code persistence.sql-budget.fail=true}
+ * (meant for tests) the request fails instead.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+    int maxStatements();
+}
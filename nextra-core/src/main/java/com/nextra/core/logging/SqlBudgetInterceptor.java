@@ -0,0 +1,37 @@
+package com.nextra.core.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Attaches the handler's {@link SqlBudget} (or the configured default) to
+ * the request's {@link SqlRequestStats}.
+ */
+@Component
+public class SqlBudgetInterceptor implements HandlerInterceptor {
+
+    @Value("${persistence.sql-budget.max-statements:-1}")
+    private int defaultMaxStatements;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlRequestStats stats = HibernateStatsInterceptor.current();
+        if (stats != null && handler instanceof HandlerMethod method) {
+            stats.setBudget(method.getShortLogMessage(), resolveBudget(method));
+        }
+        return true;
+    }
+
+    private int resolveBudget(HandlerMethod method) {
+        SqlBudget budget = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), SqlBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), SqlBudget.class);
+        }
+        return budget != null ? budget.maxStatements() : defaultMaxStatements;
+    }
+}
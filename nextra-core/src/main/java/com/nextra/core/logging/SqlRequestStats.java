@@ -0,0 +1,118 @@
+package com.nextra.core.logging;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL activity of a single HTTP request, collected on the request thread by
+ * {@link HibernateStatsInterceptor} and {@link SqlTimingSessionListener}.
+ *
+ * Not thread-safe; work done on other threads (imports, background counts)
+ * is deliberately not attributed to the request.
+ */
+public class SqlRequestStats {
+
+    /** No budget configured for the endpoint. */
+    public static final int UNLIMITED = -1;
+
+    private int statements;
+    private int entityLoads;
+    private int collectionFetches;
+    private long jdbcNanos;
+    private long jdbcStartedAt;
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+
+    private int maxStatements = UNLIMITED;
+    private String endpoint;
+    private boolean budgetChecked;
+
+    void onStatement(String sql) {
+        statements++;
+        statementCounts.merge(sql, 1, Integer::sum);
+    }
+
+    void onEntityLoad() {
+        entityLoads++;
+    }
+
+    void onCollectionFetch() {
+        collectionFetches++;
+    }
+
+    void onJdbcStart() {
+        jdbcStartedAt = System.nanoTime();
+    }
+
+    void onJdbcEnd() {
+        if (jdbcStartedAt != 0) {
+            jdbcNanos += System.nanoTime() - jdbcStartedAt;
+            jdbcStartedAt = 0;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public int getCollectionFetches() {
+        return collectionFetches;
+    }
+
+    public long getJdbcMillis() {
+        return jdbcNanos / 1_000_000;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Budget of the handler serving this request, set once the handler is known.
+     */
+    public void setBudget(String endpoint, int maxStatements) {
+        this.endpoint = endpoint;
+        this.maxStatements = maxStatements;
+    }
+
+    public boolean isOverBudget() {
+        return maxStatements != UNLIMITED && statements > maxStatements;
+    }
+
+    /**
+     * Returns true the first time it is called, so a budget violation is
+     * reported (or fails the request) once even if checked at several points.
+     */
+    boolean markBudgetChecked() {
+        boolean first = !budgetChecked;
+        budgetChecked = true;
+        return first;
+    }
+
+    /**
+     * The statement executed most often, if it ran at least {@code threshold}
+     * times: the usual signature of an N+1 in a mapper loop.
+     */
+    public Map.Entry<String, Integer> mostRepeatedStatement(int threshold) {
+        Map.Entry<String, Integer> worst = null;
+        for (Map.Entry<String, Integer> entry : statementCounts.entrySet()) {
+            if (entry.getValue() >= threshold && (worst == null || entry.getValue() > worst.getValue())) {
+                worst = entry;
+            }
+        }
+        return worst;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " sql, " + entityLoads + " loads, " + collectionFetches + " collections, "
+                + getJdbcMillis() + " ms jdbc";
+    }
+}
@@ -0,0 +1,23 @@
+package com.nextra.core.logging;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Response headers carrying a request's {@link SqlRequestStats}.
+ */
+public final class SqlStatsHeaders {
+
+    public static final String STATEMENTS = "X-Sql-Statements";
+    public static final String ENTITY_LOADS = "X-Sql-Entity-Loads";
+    public static final String COLLECTION_FETCHES = "X-Sql-Collection-Fetches";
+    public static final String JDBC_TIME = "X-Sql-Time-Ms";
+
+    private SqlStatsHeaders() { }
+
+    static void write(SqlRequestStats stats, BiConsumer<String, String> header) {
+        header.accept(STATEMENTS, Integer.toString(stats.getStatements()));
+        header.accept(ENTITY_LOADS, Integer.toString(stats.getEntityLoads()));
+        header.accept(COLLECTION_FETCHES, Integer.toString(stats.getCollectionFetches()));
+        header.accept(JDBC_TIME, Long.toString(stats.getJdbcMillis()));
+    }
+}
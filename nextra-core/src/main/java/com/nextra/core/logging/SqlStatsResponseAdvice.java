@@ -0,0 +1,54 @@
+package com.nextra.core.logging;
+
+import com.nextra.core.common.exceptions.SqlBudgetExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Writes the request's SQL counters as response headers just before the body
+ * is serialized (the filter runs too late, once the response is committed)
+ * and enforces the SQL budget.
+ *
+ * Lazy loading during serialization is not counted in the headers, but is
+ * still included in the summary logged by {@link RequestLoggingFilter}.
+ */
+@Slf4j
+@ControllerAdvice
+public class SqlStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Value("${persistence.sql-budget.headers:true}")
+    private boolean writeHeaders;
+
+    @Value("${persistence.sql-budget.fail:false}")
+    private boolean failOverBudget;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlRequestStats stats = HibernateStatsInterceptor.current();
+        if (stats == null) {
+            return body;
+        }
+        if (writeHeaders) {
+            SqlStatsHeaders.write(stats, response.getHeaders()::set);
+        }
+        if (failOverBudget && stats.isOverBudget() && stats.markBudgetChecked()) {
+            throw new SqlBudgetExceededException("SQL budget exceeded by " + stats.getEndpoint() + ": "
+                    + stats.getStatements() + " statements, budget " + stats.getMaxStatements());
+        }
+        return body;
+    }
+}
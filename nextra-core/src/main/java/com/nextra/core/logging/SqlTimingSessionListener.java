@@ -0,0 +1,41 @@
+package com.nextra.core.logging;
+
+import org.hibernate.SessionEventListener;
+
+import java.io.Serial;
+
+/**
+ * Adds JDBC execution time to the current request's {@link SqlRequestStats}.
+ * Hibernate creates one instance per session from its class name.
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        SqlRequestStats stats = HibernateStatsInterceptor.current();
+        if (stats != null) {
+            stats.onJdbcStart();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlRequestStats stats = HibernateStatsInterceptor.current();
+        if (stats != null) {
+            stats.onJdbcEnd();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStatementStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
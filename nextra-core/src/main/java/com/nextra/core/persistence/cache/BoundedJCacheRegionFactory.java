@@ -0,0 +1,83 @@
+package com.nextra.core.persistence.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.core.env.Environment;
+
+import javax.cache.Cache;
+import java.io.Serial;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache regions backed by Caffeine, each one bounded
+ * and with its own time-to-live.
+ *
+ * Regions are created lazily by Hibernate; their limits come from
+ * {@code persistence.cache.regions.<region>.max-size} and
+ * {@code persistence.cache.regions.<region>.ttl-seconds}, falling back to
+ * {@code persistence.cache.default-max-size} and
+ * {@code persistence.cache.default-ttl-seconds}. The update-timestamps region
+ * is never bounded: evicting a timestamp could let the query cache serve
+ * results older than the last write.
+ *
+ * Entries are stored by reference (Hibernate already caches a disassembled
+ * copy) and record Caffeine statistics for {@link #regionStats()}.
+ */
+@Slf4j
+public class BoundedJCacheRegionFactory extends JCacheRegionFactory {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // region factories are serializable by contract but never serialized in practice
+    private final transient Environment environment;
+
+    public BoundedJCacheRegionFactory(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setNativeStatisticsEnabled(true);
+
+        if (!RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(regionName)) {
+            long maxSize = setting(regionName, "max-size", 10_000);
+            long ttlSeconds = setting(regionName, "ttl-seconds", 600);
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos()));
+            log.info("🗄️ Cache region '{}' created (max {} entries, ttl {}s)", regionName, maxSize, ttlSeconds);
+        }
+        return getCacheManager().createCache(regionName, configuration);
+    }
+
+    /**
+     * Hit/miss counters of every region created so far.
+     */
+    public List<CacheRegionStats> regionStats() {
+        List<CacheRegionStats> stats = new ArrayList<>();
+        for (String name : getCacheManager().getCacheNames()) {
+            Cache<Object, Object> cache = getCacheManager().getCache(name);
+            if (cache != null) {
+                stats.add(CacheRegionStats.of(name, cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class)));
+            }
+        }
+        stats.sort(Comparator.comparing(CacheRegionStats::region));
+        return stats;
+    }
+
+    private long setting(String regionName, String key, long fallback) {
+        Long regionValue = environment.getProperty("persistence.cache.regions." + regionName + "." + key, Long.class);
+        if (regionValue != null) {
+            return regionValue;
+        }
+        return environment.getProperty("persistence.cache.default-" + key, Long.class, fallback);
+    }
+}
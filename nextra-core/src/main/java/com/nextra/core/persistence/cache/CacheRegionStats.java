@@ -0,0 +1,23 @@
+package com.nextra.core.persistence.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Point-in-time counters of one second-level cache region.
+ */
+public record CacheRegionStats(
+        String region,
+        long size,
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions
+) {
+
+    static CacheRegionStats of(String region, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheRegionStats(region, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -0,0 +1,24 @@
+package com.nextra.core.persistence.event;
+
+import java.util.Set;
+
+/**
+ * Entities of one type that changed in a committed transaction, published by
+ * {@link EntityChangePublisher} once per type and kind after commit. Listeners
+ * only get ids and should reload whatever state they need.
+ */
+public record EntityChangeEvent(Class<?> entityType, Kind kind, Set<Long> ids) {
+
+    public enum Kind {
+        /** Inserted or updated through the persistence context. */
+        SAVED,
+        /** Soft- or hard-deleted. */
+        DELETED,
+        /** Soft-delete undone. */
+        RESTORED
+    }
+
+    public boolean concerns(Class<?> type) {
+        return type.isAssignableFrom(entityType);
+    }
+}
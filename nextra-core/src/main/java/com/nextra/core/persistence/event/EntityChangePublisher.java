@@ -0,0 +1,97 @@
+package com.nextra.core.persistence.event;
+
+import com.nextra.core.persistence.model.BaseEntity;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns entity changes into {@link EntityChangeEvent}s for in-process read
+ * models (search indexes, caches).
+ *
+ * Registered as a JPA listener on BaseEntity (instantiated through Spring's
+ * bean container) for inserts, updates and removals. Bulk JPQL updates, i.e.
+ * soft-delete and restore, bypass JPA callbacks, so BaseServiceImpl reports
+ * those through {@link #record}.
+ *
+ * Inside a transaction, changes are buffered and published once per entity
+ * type and kind after commit (a 10k-row import chunk is one event, and rolled
+ * back changes are never published). Outside a transaction they are published
+ * immediately.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityChangePublisher {
+
+    private final ApplicationEventPublisher events;
+
+    @PostPersist
+    @PostUpdate
+    public void afterSave(Object entity) {
+        if (entity instanceof BaseEntity e && e.getId() != null) {
+            record(Hibernate.getClass(e), e.isDeleted() ? EntityChangeEvent.Kind.DELETED : EntityChangeEvent.Kind.SAVED,
+                    Set.of(e.getId()));
+        }
+    }
+
+    @PostRemove
+    public void afterRemove(Object entity) {
+        if (entity instanceof BaseEntity e && e.getId() != null) {
+            record(Hibernate.getClass(e), EntityChangeEvent.Kind.DELETED, Set.of(e.getId()));
+        }
+    }
+
+    public void record(Class<?> entityType, EntityChangeEvent.Kind kind, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            events.publishEvent(new EntityChangeEvent(entityType, kind, Set.copyOf(ids)));
+            return;
+        }
+        Buffer buffer = (Buffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            buffer = new Buffer();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        buffer.add(entityType, kind, ids);
+    }
+
+    /**
+     * Changes of the current transaction, keyed by type and kind in the order first seen.
+     */
+    private final class Buffer implements TransactionSynchronization {
+
+        private final Map<Class<?>, Map<EntityChangeEvent.Kind, Set<Long>>> changes = new LinkedHashMap<>();
+
+        void add(Class<?> entityType, EntityChangeEvent.Kind kind, Collection<Long> ids) {
+            changes.computeIfAbsent(entityType, t -> new LinkedHashMap<>())
+                    .computeIfAbsent(kind, k -> new LinkedHashSet<>())
+                    .addAll(ids);
+        }
+
+        @Override
+        public void afterCommit() {
+            changes.forEach((type, byKind) -> byKind.forEach((kind, ids) ->
+                    events.publishEvent(new EntityChangeEvent(type, kind, Set.copyOf(ids)))));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EntityChangePublisher.this);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.nextra.core.persistence.model;
 
+import com.nextra.core.persistence.event.EntityChangePublisher;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -14,13 +15,19 @@ import org.hibernate.annotations.SQLRestriction;
 @AllArgsConstructor
 @SuperBuilder(toBuilder = true)
 @ToString(callSuper = true)
-@EntityListeners(AuditListener.class)
+@EntityListeners({AuditListener.class, EntityChangePublisher.class})
 @SQLDelete(sql = "UPDATE #{#entityName} SET deleted = true WHERE id = ?")
 @SQLRestriction("deleted = false")
 public abstract class BaseEntity extends Auditable {
 
+    /**
+     * Pooled sequence per table ("<table>_seq", allocation size 50): unlike
+     * IDENTITY, ids are known before the INSERT, so Hibernate can batch inserts
+     * (hibernate.jdbc.batch_size) and only hits the sequence once per 50 rows.
+     * Existing Postgres tables: docker/postgres/migrations/001_pooled_sequence_ids.sql
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     private boolean deleted = false;
@@ -0,0 +1,102 @@
+package com.nextra.core.persistence.pagination;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+
+/**
+ * Row counts per entity and filter, recounted in the background.
+ *
+ * The first request for a key counts synchronously; afterwards callers get
+ * the cached value immediately and, once it is older than
+ * {@code persistence.approximate-count.refresh-seconds}, a single background
+ * recount replaces it. Keys nobody asks for expire after
+ * {@code persistence.approximate-count.expire-minutes}.
+ *
+ * Keys are free-form; use something like {@code "Property"} or
+ * {@code "Property:status=AVAILABLE"} so different filters don't share a count.
+ */
+@Slf4j
+@Component
+public class ApproximateCountCache {
+
+    @Value("${persistence.approximate-count.refresh-seconds:60}")
+    private long refreshSeconds;
+
+    @Value("${persistence.approximate-count.expire-minutes:30}")
+    private long expireMinutes;
+
+    @Value("${persistence.approximate-count.max-size:1000}")
+    private long maxSize;
+
+    private final Map<String, LongSupplier> counters = new ConcurrentHashMap<>();
+    private ExecutorService refresher;
+    private LoadingCache<String, Long> counts;
+
+    @PostConstruct
+    public void init() {
+        refresher = Executors.newSingleThreadExecutor(Thread.ofPlatform()
+                .name("count-refresh")
+                .daemon(true)
+                .factory());
+        counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .expireAfterAccess(Duration.ofMinutes(expireMinutes))
+                .executor(refresher)
+                .removalListener((String key, Long count, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        counters.remove(key);
+                    }
+                })
+                .build(this::count);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Cached count for the key, registering {@code counter} to compute it.
+     * A failed background refresh keeps the previous value.
+     */
+    public long get(String key, LongSupplier counter) {
+        counters.put(key, counter);
+        return counts.get(key);
+    }
+
+    /**
+     * Force a recount on next access, e.g. after a bulk import or delete.
+     */
+    public void invalidate(String key) {
+        counts.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        counts.invalidateAll();
+    }
+
+    private long count(String key) {
+        LongSupplier counter = counters.get(key);
+        if (counter == null) {
+            throw new IllegalStateException("No counter registered for " + key);
+        }
+        long started = System.nanoTime();
+        long count = counter.getAsLong();
+        log.debug("🔢 Counted {} rows for {} in {} ms", count, key, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return count;
+    }
+}
@@ -0,0 +1,20 @@
+package com.nextra.core.persistence.pagination;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) scroll.
+ *
+ * @param content       Entities on this page
+ * @param size          Requested page size
+ * @param nextCursor    Opaque cursor for the following page, null on the last page
+ * @param hasNext       Whether another page exists
+ * @param totalElements Total active entities, only when requested (null otherwise)
+ */
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext,
+        Long totalElements
+) { }
@@ -0,0 +1,76 @@
+package com.nextra.core.persistence.pagination;
+
+import com.nextra.core.common.exceptions.BadRequestException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a keyset scroll: the sort property and
+ * direction, the row's sort value and its id (the tie-breaker).
+ *
+ * Serialized as URL-safe Base64 so clients treat it as opaque.
+ */
+public record KeysetCursor(String property, Sort.Direction direction, Object value, Long lastId) {
+
+    private static final String VERSION = "v1";
+    private static final String NULL_VALUE = "~";
+    private static final DefaultConversionService CONVERSION = new DefaultConversionService();
+
+    public String encode() {
+        String raw = String.join("|", VERSION, property, direction.name(), String.valueOf(lastId),
+                value == null ? NULL_VALUE : "=" + format(value));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param valueType Java type of the sort property, used to restore the value
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor, Class<?> valueType) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("unknown cursor layout");
+            }
+            Object value = parts[4].equals(NULL_VALUE) ? null : parse(parts[4].substring(1), valueType);
+            return new KeysetCursor(parts[1], Sort.Direction.valueOf(parts[2]), value, Long.valueOf(parts[3]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private static String format(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value.toString();
+    }
+
+    private static Object parse(String text, Class<?> type) {
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(text);
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.parse(text);
+        }
+        if (type == Instant.class) {
+            return Instant.parse(text);
+        }
+        if (type == OffsetDateTime.class) {
+            return OffsetDateTime.parse(text);
+        }
+        return CONVERSION.convert(text, type);
+    }
+}
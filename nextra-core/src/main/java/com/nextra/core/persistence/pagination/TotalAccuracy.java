@@ -0,0 +1,13 @@
+package com.nextra.core.persistence.pagination;
+
+/**
+ * How much a page's {@code totalElements} can be trusted.
+ */
+public enum TotalAccuracy {
+    /** Counted for this request. */
+    EXACT,
+    /** Taken from a periodically refreshed count; may lag recent writes. */
+    APPROXIMATE,
+    /** Not counted; clients should rely on {@code last} to stop paging. */
+    UNKNOWN
+}
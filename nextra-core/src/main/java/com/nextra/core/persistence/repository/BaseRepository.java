@@ -1,33 +1,88 @@
 package com.nextra.core.persistence.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Generic repository base interface to be extended by all repositories.
  * Adds soft-delete and restore helpers.
+ *
+ * The soft-delete/restore updates return the number of affected rows, so
+ * callers can detect missing ids without a separate existence query.
  */
 @NoRepositoryBean
 public interface BaseRepository<T, ID> extends JpaRepository<T, ID> {
 
     @Transactional
     @Modifying
-    @Query("UPDATE #{#entityName} e SET e.deleted = true WHERE e.id = :id")
-    void softDelete(ID id);
+    @Query("UPDATE #{#entityName} e SET e.deleted = true WHERE e.id = :id AND e.deleted = false")
+    int softDelete(ID id);
 
     @Transactional
     @Modifying
     @Query("UPDATE #{#entityName} e SET e.deleted = false WHERE e.id = :id")
-    void restore(ID id);
+    int restore(ID id);
+
+    /**
+     * Soft-delete all given ids in one statement; already deleted or unknown ids are skipped.
+     * Keep the collection bounded (see BaseServiceImpl#deleteAll, which chunks).
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE #{#entityName} e SET e.deleted = true WHERE e.id IN :ids AND e.deleted = false")
+    int softDeleteAll(Collection<ID> ids);
+
+    /**
+     * Restore all given ids in one statement; unknown ids are skipped.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE #{#entityName} e SET e.deleted = false WHERE e.id IN :ids AND e.deleted = true")
+    int restoreAll(Collection<ID> ids);
 
     @Query("SELECT e FROM #{#entityName} e WHERE e.deleted = false")
     List<T> findAllActive();
 
     @Query("SELECT e FROM #{#entityName} e")
     List<T> findAllIncludingDeleted();
+
+    /**
+     * Cursor over all active entities in id order, fetched in driver batches
+     * of 500 without Hibernate dirty-checking snapshots. Must be consumed (and
+     * closed) inside a transaction; see BaseServiceImpl#streamAll.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM #{#entityName} e WHERE e.deleted = false ORDER BY e.id")
+    Stream<T> streamAllActive();
+
+    @Query("SELECT COUNT(e) FROM #{#entityName} e WHERE e.deleted = false")
+    long countActive();
+
+    /**
+     * Page of active entities without the companion count query; Spring Data
+     * fetches one extra row to tell whether a next page exists.
+     */
+    @Query("SELECT e FROM #{#entityName} e WHERE e.deleted = false")
+    Slice<T> findActiveSlice(Pageable pageable);
+
+    /**
+     * Ids of all active entities, e.g. to validate references in bulk without per-row lookups.
+     */
+    @Query("SELECT e.id FROM #{#entityName} e WHERE e.deleted = false")
+    List<ID> findAllActiveIds();
 }
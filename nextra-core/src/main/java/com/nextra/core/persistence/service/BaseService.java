@@ -1,7 +1,11 @@
 package com.nextra.core.persistence.service;
 
+import com.nextra.core.persistence.pagination.CursorPage;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Defines the standard service operations for all entities.
@@ -15,10 +19,60 @@ public interface BaseService<T, ID> {
 
     void delete(ID id);
 
+    void restore(ID id);
+
+    /**
+     * Soft-delete many entities at once.
+     *
+     * @return number of entities actually deleted
+     */
+    int deleteAll(Collection<ID> ids);
+
+    /**
+     * Restore many soft-deleted entities at once.
+     *
+     * @return number of entities actually restored
+     */
+    int restoreAll(Collection<ID> ids);
+
     Optional<T> findById(ID id);
 
     default List<T> findAll() { throw new UnsupportedOperationException(); }
+
+    /**
+     * Feed every entity to the consumer in id order without materializing the
+     * whole table. The persistence context is cleared every chunk of entities,
+     * so the consumer must not keep references expecting lazy loading to work
+     * later, and relations it reads should be fetched by the stream query.
+     *
+     * @return number of entities streamed
+     */
+    long streamAll(boolean includeDeleted, Consumer<T> consumer);
+
     default org.springframework.data.domain.Page<T> findAll(org.springframework.data.domain.Pageable pageable) {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * Page of active entities without counting the table; use when the client
+     * only needs to know whether there is a next page.
+     */
+    org.springframework.data.domain.Slice<T> findSlice(org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Number of active entities from a periodically refreshed cache; may lag
+     * recent writes by up to the refresh interval.
+     */
+    long approximateCount();
+
+    /**
+     * Keyset (seek) pagination: returns the {@code size} active entities after
+     * {@code cursor} in {@code order}, tie-broken by id. Cost does not depend
+     * on how deep the client has scrolled.
+     *
+     * @param cursor    Cursor from the previous page, or null for the first page
+     * @param withTotal Also run a count query for the total
+     */
+    CursorPage<T> findAllByCursor(String cursor, int size,
+                                  org.springframework.data.domain.Sort.Order order, boolean withTotal);
 }
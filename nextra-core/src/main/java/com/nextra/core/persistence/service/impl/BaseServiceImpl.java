@@ -1,17 +1,46 @@
 package com.nextra.core.persistence.service.impl;
 
+import com.nextra.core.common.exceptions.BadRequestException;
 import com.nextra.core.common.exceptions.ResourceNotFoundException;
+import com.nextra.core.persistence.event.EntityChangeEvent;
+import com.nextra.core.persistence.event.EntityChangePublisher;
 import com.nextra.core.persistence.model.BaseEntity;
+import com.nextra.core.persistence.pagination.ApproximateCountCache;
+import com.nextra.core.persistence.pagination.CursorPage;
+import com.nextra.core.persistence.pagination.KeysetCursor;
 import com.nextra.core.persistence.repository.BaseRepository;
 import com.nextra.core.persistence.service.BaseService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.SingularAttribute;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ClassUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
 /**
  * Generic service implementation providing CRUD logic and logging.
@@ -24,6 +53,23 @@ public abstract class BaseServiceImpl<T extends BaseEntity, ID> implements BaseS
     @Autowired
     protected BaseRepository<T, ID> repository;
 
+    @Autowired
+    protected ApproximateCountCache countCache;
+
+    @Autowired
+    protected EntityChangePublisher changes;
+
+    /** Max ids per bulk UPDATE, keeps the IN list within driver/database limits. */
+    @Value("${persistence.bulk-chunk-size:1000}")
+    protected int bulkChunkSize = 1000;
+
+    /** Entities kept in the persistence context while streaming before it is cleared. */
+    @Value("${persistence.stream-chunk-size:500}")
+    protected int streamChunkSize = 500;
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
     @Override
     public T save(T entity) {
         log.info("💾 Saving entity: {}", entity);
@@ -43,18 +89,100 @@ public abstract class BaseServiceImpl<T extends BaseEntity, ID> implements BaseS
     @Override
     public void delete(ID id) {
         log.warn("🗑 Soft-deleting entity with id: {}", id);
-        if (!repository.existsById(id)) {
+        if (repository.softDelete(id) == 0) {
             throw new ResourceNotFoundException("Entity not found with id: " + id);
         }
-        repository.softDelete(id);
+        recordChange(EntityChangeEvent.Kind.DELETED, List.of(id));
     }
 
+    @Override
     public void restore(ID id) {
         log.info("♻️ Restoring entity with id: {}", id);
-        if (!repository.existsById(id)) {
+        if (repository.restore(id) == 0) {
             throw new ResourceNotFoundException("Entity not found with id: " + id);
         }
-        repository.restore(id);
+        recordChange(EntityChangeEvent.Kind.RESTORED, List.of(id));
+    }
+
+    @Override
+    public int deleteAll(Collection<ID> ids) {
+        List<ID> deleted = inChunks(ids, false, repository::softDeleteAll);
+        recordChange(EntityChangeEvent.Kind.DELETED, deleted);
+        log.warn("🗑 Soft-deleted {} of {} entities", deleted.size(), ids.size());
+        return deleted.size();
+    }
+
+    @Override
+    public int restoreAll(Collection<ID> ids) {
+        List<ID> restored = inChunks(ids, true, repository::restoreAll);
+        recordChange(EntityChangeEvent.Kind.RESTORED, restored);
+        log.info("♻️ Restored {} of {} entities", restored.size(), ids.size());
+        return restored.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Class<T> entityType() {
+        Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(ClassUtils.getUserClass(getClass()), BaseServiceImpl.class);
+        if (arguments == null || arguments[0] == null) {
+            throw new IllegalStateException("Cannot resolve entity type of " + getClass().getName());
+        }
+        return (Class<T>) arguments[0];
+    }
+
+    private SingularAttribute<? super T, ?> sortableAttribute(Class<T> type, String property) {
+        SingularAttribute<? super T, ?> attribute;
+        try {
+            attribute = entityManager.getMetamodel().entity(type).getSingularAttribute(property);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown sort property: " + property);
+        }
+        Class<?> javaType = ClassUtils.resolvePrimitiveIfNecessary(attribute.getJavaType());
+        if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC
+                || !Comparable.class.isAssignableFrom(javaType)) {
+            throw new BadRequestException("Cannot sort by: " + property);
+        }
+        return attribute;
+    }
+
+    /**
+     * Run a bulk update once per chunk of distinct ids, on the ids of the chunk
+     * whose deleted flag is {@code deleted}, and return those ids: the rows the
+     * update changes, so change events name only them.
+     */
+    private List<ID> inChunks(Collection<ID> ids, boolean deleted, ToIntFunction<Collection<ID>> update) {
+        List<ID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<ID> affected = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += bulkChunkSize) {
+            List<ID> matching = idsWithDeletedFlag(distinct.subList(from, Math.min(from + bulkChunkSize, distinct.size())), deleted);
+            if (!matching.isEmpty()) {
+                update.applyAsInt(matching);
+                affected.addAll(matching);
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Native, since @SQLRestriction would hide the soft-deleted rows restoreAll looks for.
+     */
+    @SuppressWarnings("unchecked")
+    private List<ID> idsWithDeletedFlag(Collection<ID> ids, boolean deleted) {
+        return entityManager.createNativeQuery("SELECT id FROM " + tableName() + " WHERE id IN (:ids) AND deleted = :deleted", Long.class)
+                .setParameter("ids", ids)
+                .setParameter("deleted", deleted)
+                .getResultList();
+    }
+
+    /**
+     * Bulk updates skip JPA callbacks, so report them to EntityChangePublisher here.
+     * BaseEntity ids are Long; anything else fails here rather than in a listener.
+     */
+    private void recordChange(EntityChangeEvent.Kind kind, Collection<ID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> entityIds = ids.stream().map(Long.class::cast).toList();
+        changes.record(entityType(), kind, entityIds);
     }
 
     @Override
@@ -69,6 +197,79 @@ public abstract class BaseServiceImpl<T extends BaseEntity, ID> implements BaseS
         return repository.findAllActive();
     }
 
+    /**
+     * Runs in a read-only transaction (no flush, read-only JDBC connection) so
+     * the driver can honour the fetch size; the persistence context is cleared
+     * every {@code persistence.stream-chunk-size} entities to keep heap flat.
+     */
+    @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public long streamAll(boolean includeDeleted, Consumer<T> consumer) {
+        log.debug("🌊 Streaming all entities (includeDeleted={})", includeDeleted);
+        long count = 0;
+        try (Stream<T> stream = openStream(includeDeleted)) {
+            Iterator<T> entities = stream.iterator();
+            while (entities.hasNext()) {
+                consumer.accept(entities.next());
+                if (++count % streamChunkSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        entityManager.clear();
+        return count;
+    }
+
+    /**
+     * Query feeding {@link #streamAll}. Override to fetch-join the relations the
+     * consumer reads; otherwise each lazy one costs a query per streamed entity.
+     */
+    protected Stream<T> openStream(boolean includeDeleted) {
+        return includeDeleted
+                ? streamIncludingDeleted("SELECT {e.*} FROM " + tableName() + " e", "e", query -> { })
+                : repository.streamAllActive();
+    }
+
+    /**
+     * Every row of {@code select}, soft-deleted ones included, in id order.
+     * BaseEntity's @SQLRestriction is added to every HQL/JPQL select, so this
+     * reads native SQL: {@code select} is a SELECT ... FROM ... JOIN whose root
+     * entity has the SQL alias {@code alias}, and {@code fetches} declares the
+     * joined aliases (NativeQuery#addFetch). Rows are read in id-keyset chunks
+     * of {@link #streamChunkSize} with list(), not a cursor, so the eager
+     * collections of a chunk are batch-loaded (@BatchSize) rather than one
+     * query per row; a chunk is only read once the previous one is consumed.
+     */
+    protected Stream<T> streamIncludingDeleted(String select, String alias, Consumer<NativeQuery<T>> fetches) {
+        String sql = select + " WHERE " + alias + ".id > :after ORDER BY " + alias + ".id LIMIT :limit";
+        return Stream.iterate(readChunk(sql, alias, fetches, Long.MIN_VALUE),
+                        chunk -> !chunk.isEmpty(),
+                        chunk -> chunk.size() < streamChunkSize
+                                ? List.of()
+                                : readChunk(sql, alias, fetches, chunk.get(chunk.size() - 1).getId()))
+                .flatMap(List::stream);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> readChunk(String sql, String alias, Consumer<NativeQuery<T>> fetches, long after) {
+        NativeQuery<T> query = (NativeQuery<T>) entityManager.unwrap(Session.class).createNativeQuery(sql)
+                .addEntity(alias, entityType());
+        fetches.accept(query);
+        return query
+                .setParameter("after", after)
+                .setParameter("limit", streamChunkSize)
+                .setReadOnly(true)
+                .list();
+    }
+
+    protected String tableName() {
+        return ((AbstractEntityPersister) entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityType()))
+                .getTableName();
+    }
+
     public List<T> findAllIncludingDeleted() {
         log.debug("📂 Fetching all entities (including deleted)");
         return repository.findAllIncludingDeleted();
@@ -79,4 +280,85 @@ public abstract class BaseServiceImpl<T extends BaseEntity, ID> implements BaseS
         log.debug("📖 Fetching paginated entities: {}", pageable);
         return repository.findAll(pageable);
     }
+
+    @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public Slice<T> findSlice(Pageable pageable) {
+        log.debug("📖 Fetching slice of entities: {}", pageable);
+        return repository.findActiveSlice(pageable);
+    }
+
+    @Override
+    public long approximateCount() {
+        return approximateCount("", repository::countActive);
+    }
+
+    /**
+     * Cached count for a filtered listing, keyed by entity and {@code filter}
+     * (e.g. "status=AVAILABLE"). The counter runs on a background thread on
+     * refresh, so it must not depend on the caller's transaction.
+     */
+    protected long approximateCount(String filter, LongSupplier counter) {
+        String key = filter.isEmpty() ? entityType().getSimpleName() : entityType().getSimpleName() + ":" + filter;
+        return countCache.get(key, counter);
+    }
+
+    /**
+     * Seeks on {@code (sortKey, id)} with a row-value comparison plus LIMIT
+     * size + 1, so with an index on (sort column, id) every page is one index
+     * range scan and costs the same at any depth. Rows with a null sort value
+     * come last in both directions; they are served as a second phase that
+     * seeks on id alone, never by OR-ing {@code IS NULL} into the seek.
+     */
+    @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public CursorPage<T> findAllByCursor(String cursor, int size, Sort.Order order, boolean withTotal) {
+        log.debug("📜 Fetching keyset page: cursor={}, size={}, order={}", cursor, size, order);
+        Class<T> type = entityType();
+        SingularAttribute<? super T, ?> sortAttribute = sortableAttribute(type, order.getProperty());
+        Class<?> sortType = ClassUtils.resolvePrimitiveIfNecessary(sortAttribute.getJavaType());
+
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor, sortType);
+        if (after != null && (!after.property().equals(order.getProperty()) || after.direction() != order.getDirection())) {
+            throw new BadRequestException("Cursor does not match the requested sort");
+        }
+
+        // the property name is safe to splice in: sortableAttribute() resolved it against the metamodel
+        String from = "SELECT e FROM " + entityManager.getMetamodel().entity(type).getName() + " e WHERE e.deleted = false";
+        String key = "e." + sortAttribute.getName();
+        String direction = order.isAscending() ? " ASC" : " DESC";
+        String seek = order.isAscending() ? " > " : " < ";
+
+        List<T> rows = new ArrayList<>();
+        if (after == null || after.value() != null) {
+            TypedQuery<T> query = entityManager.createQuery(from + " AND " + key + " IS NOT NULL"
+                    + (after != null ? " AND (" + key + ", e.id)" + seek + "(:value, :lastId)" : "")
+                    + " ORDER BY " + key + direction + ", e.id" + direction, type);
+            if (after != null) {
+                query.setParameter("value", after.value()).setParameter("lastId", after.lastId());
+            }
+            rows.addAll(query.setMaxResults(size + 1).getResultList());
+        }
+        if (rows.size() <= size && sortAttribute.isOptional()) {
+            Long lastId = after != null && after.value() == null ? after.lastId() : null;
+            TypedQuery<T> query = entityManager.createQuery(from + " AND " + key + " IS NULL"
+                    + (lastId != null ? " AND e.id" + seek + ":lastId" : "")
+                    + " ORDER BY e.id" + direction, type);
+            if (lastId != null) {
+                query.setParameter("lastId", lastId);
+            }
+            rows.addAll(query.setMaxResults(size + 1 - rows.size()).getResultList());
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            T last = content.get(content.size() - 1);
+            Object lastValue = new BeanWrapperImpl(last).getPropertyValue(sortAttribute.getName());
+            nextCursor = new KeysetCursor(order.getProperty(), order.getDirection(), lastValue, last.getId()).encode();
+        }
+        Long total = withTotal ? repository.countActive() : null;
+        return new CursorPage<>(List.copyOf(content), size, nextCursor, hasNext, total);
+    }
 }
@@ -29,6 +29,11 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/**", "/swagger-ui/**", "/v3/api-docs/**", "/h2-console/**")
                         .permitAll()
+                        // health probes carry no JWT; /actuator/prometheus (Hibernate
+                        // statistics included) falls under anyRequest, so the scraper
+                        // sends a bearer token
+                        .requestMatchers("/actuator/health/**")
+                        .permitAll()
                         .anyRequest()
                         .authenticated()
                 )
@@ -1,9 +1,12 @@
 package com.nextra.core.security;
 
+import com.nextra.core.security.cache.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -14,14 +17,20 @@ import java.util.Collections;
 /**
  * Temporary simple in-memory user service.
  * Later will load users from the database.
+ *
+ * Also receives password upgrades: after a successful login whose stored hash
+ * is weaker than the configured BCrypt cost, Spring Security re-encodes the
+ * raw password and hands it to {@link #updatePassword}.
  */
+@Slf4j
 @Service
 @Primary
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final PasswordEncoder passwordEncoder;
-    private String encodedPassword;
+    private final UserPrincipalCache userPrincipalCache;
+    private volatile String encodedPassword;
 
     @PostConstruct
     public void init() {
@@ -41,4 +50,15 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         }
         throw new UsernameNotFoundException("User not found: " + username);
     }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        // temporary static user: keep the upgraded hash in memory
+        if (user.getUsername().equalsIgnoreCase("admin")) {
+            encodedPassword = newPassword;
+        }
+        userPrincipalCache.invalidate(user.getUsername());
+        log.info("🔐 Password hash upgraded for user: {}", user.getUsername());
+        return User.withUserDetails(user).password(newPassword).build();
+    }
 }
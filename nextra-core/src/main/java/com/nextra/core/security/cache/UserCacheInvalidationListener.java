@@ -0,0 +1,40 @@
+package com.nextra.core.security.cache;
+
+import com.nextra.core.security.jwt.TokenVersionRegistry;
+import com.nextra.core.security.model.Role;
+import com.nextra.core.security.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener that drops cached principals, and revokes tokens carrying
+ * embedded authorities, when users or roles change.
+ * Instantiated through Spring (Hibernate's SpringBeanContainer), so the cache is injected.
+ *
+ * Note: role membership changes that only touch the user_roles join table do
+ * not fire {@code @PostUpdate}; code changing memberships should call
+ * {@link UserPrincipalCache#invalidate(String)} and
+ * {@link TokenVersionRegistry#bump(String)} explicitly.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheInvalidationListener {
+
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    @PostUpdate
+    @PostRemove
+    public void afterChange(Object entity) {
+        if (entity instanceof User user) {
+            userPrincipalCache.invalidate(user.getUsername());
+            tokenVersionRegistry.bump(user.getUsername());
+        } else if (entity instanceof Role) {
+            // a renamed or removed role can affect any user
+            userPrincipalCache.invalidateAll();
+            tokenVersionRegistry.bumpAll();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.nextra.core.security.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of loaded principals, so authenticated requests
+ * don't hit the user/role tables on every call.
+ *
+ * Entries expire {@code security.user-cache.ttl-seconds} after loading and the
+ * least valuable entries (Caffeine's recency/frequency policy) are evicted past
+ * {@code security.user-cache.max-size}. Anything that changes a user or their
+ * roles must call {@link #invalidate(String)} or {@link #invalidateAll()};
+ * {@link UserCacheInvalidationListener} does this for JPA updates.
+ */
+@Slf4j
+@Component
+public class UserPrincipalCache implements MeterBinder {
+
+    @Value("${security.user-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${security.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, UserDetails> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "user-principals");
+    }
+
+    /**
+     * Cached principal for the username, loading it on a miss.
+     * Loader exceptions (e.g. UsernameNotFoundException) propagate and are not cached.
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+            log.debug("Evicted cached principal: {}", username);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        log.debug("Evicted all cached principals");
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
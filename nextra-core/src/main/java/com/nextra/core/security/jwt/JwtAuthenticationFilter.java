@@ -1,5 +1,7 @@
 package com.nextra.core.security.jwt;
 
+import com.nextra.core.security.UserDetailsServiceImpl;
+import com.nextra.core.security.cache.UserPrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,15 +9,25 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
+/**
+ * Authenticates bearer tokens. Tokens carrying their authorities are turned
+ * into a principal straight from the claims (no user lookup); subject-only
+ * tokens fall back to the cached {@link UserDetailsServiceImpl} lookup.
+ */
 @Slf4j
 @Component
 @Profile("!dev")
@@ -23,7 +35,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtProvider;
-    private final com.nextra.core.security.UserDetailsServiceImpl userDetailsService;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -38,24 +51,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = header.substring(7);
-        String username = null;
 
-        try {
-            username = jwtProvider.getUsernameFromToken(token);
-        } catch (Exception e) {
-            log.warn("Invalid JWT: {}", e.getMessage());
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtProvider.validateToken(token)) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            jwtProvider.validateAndGetClaims(token)
+                    .flatMap(this::resolvePrincipal)
+                    .ifPresent(userDetails -> {
+                        UsernamePasswordAuthenticationToken authToken =
+                                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        SecurityContextHolder.getContext().setAuthentication(authToken);
+                    });
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private Optional<UserDetails> resolvePrincipal(Claims claims) {
+        Optional<List<GrantedAuthority>> embedded = jwtProvider.getEmbeddedAuthorities(claims);
+        if (embedded.isEmpty()) {
+            return Optional.of(userPrincipalCache.get(claims.getSubject(), userDetailsService::loadUserByUsername));
+        }
+        if (!jwtProvider.isVersionCurrent(claims)) {
+            log.warn("Revoked JWT for user: {}", claims.getSubject());
+            return Optional.empty();
+        }
+        return Optional.of(User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(embedded.get())
+                .build());
+    }
 }
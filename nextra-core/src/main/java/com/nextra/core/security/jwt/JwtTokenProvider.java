@@ -1,59 +1,209 @@
 package com.nextra.core.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
+/**
+ * Issues and validates JWTs.
+ *
+ * The signing key and parser are built once at startup. Validated claims are
+ * kept in a bounded cache keyed by the raw token, so a client repeating the
+ * same bearer token skips signature verification and JSON parsing until the
+ * token (or the cache entry) expires.
+ *
+ * With {@code security.jwt.embed-authorities} (default on) tokens issued for a
+ * {@link UserDetails} also carry the user's authorities ("roles") and a
+ * {@link TokenVersionRegistry} stamp ("ver"), so requests can be authenticated
+ * from the claims alone.
+ *
+ * Validation latency is recorded as {@code security.jwt.validation}, tagged
+ * with the result and whether the claims cache was hit.
+ */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    public static final String ROLES_CLAIM = "roles";
+    public static final String VERSION_CLAIM = "ver";
+
+    private final TokenVersionRegistry versionRegistry;
+    private final MeterRegistry meterRegistry;
+
     @Value("${security.jwt.secret:}")
     private String jwtSecret;
 
     @Value("${security.jwt.expiration-ms:86400000}") // 1 day default
     private long jwtExpirationMs;
 
-    private Key getKey() {
+    @Value("${security.jwt.embed-authorities:true}")
+    private boolean embedAuthorities;
+
+    @Value("${security.jwt.claims-cache-size:10000}")
+    private long claimsCacheSize;
+
+    @Value("${security.jwt.claims-cache-ttl-seconds:300}")
+    private long claimsCacheTtlSeconds;
+
+    private Key signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> claimsCache;
+
+    @PostConstruct
+    public void init() {
         if (jwtSecret == null || jwtSecret.isEmpty() || jwtSecret.length() < 32) {
             log.warn("⚠️ Weak or missing JWT secret — generating a temporary secure key");
-            return Keys.secretKeyFor(SignatureAlgorithm.HS256);
+            signingKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        } else {
+            signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
         }
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+        long maxTtlNanos = Duration.ofSeconds(claimsCacheTtlSeconds).toNanos();
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String token, Claims claims, long currentTime) {
+                        // never outlive the token itself
+                        Date expiration = claims.getExpiration();
+                        if (expiration == null) {
+                            return maxTtlNanos;
+                        }
+                        long untilExpiry = Duration.ofMillis(expiration.getTime() - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(maxTtlNanos, untilExpiry));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt-claims");
     }
 
+    /**
+     * Subject-only token; the filter loads the user to resolve authorities.
+     */
     public String generateToken(String username) {
+        return builder(username).compact();
+    }
+
+    /**
+     * Token for an authenticated user, embedding authorities and version stamp
+     * unless {@code security.jwt.embed-authorities} is off.
+     */
+    public String generateToken(UserDetails user) {
+        JwtBuilder builder = builder(user.getUsername());
+        if (embedAuthorities) {
+            builder.claim(ROLES_CLAIM, user.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .toList())
+                    .claim(VERSION_CLAIM, versionRegistry.currentStamp(user.getUsername()));
+        }
+        return builder.compact();
+    }
+
+    private JwtBuilder builder(String username) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + jwtExpirationMs);
         return Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(getKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256);
     }
 
-    public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    /**
+     * Authorities signed into the token, or empty for subject-only tokens.
+     */
+    public Optional<List<GrantedAuthority>> getEmbeddedAuthorities(Claims claims) {
+        if (!(claims.get(ROLES_CLAIM) instanceof Collection<?> roles)) {
+            return Optional.empty();
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role)))
+                .toList();
+        return Optional.of(authorities);
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Whether the token's version stamp still matches the registry.
+     */
+    public boolean isVersionCurrent(Claims claims) {
+        return versionRegistry.isCurrent(claims.getSubject(), claims.get(VERSION_CLAIM, String.class));
+    }
+
+    /**
+     * Validate the token and return its claims in a single parse.
+     *
+     * @return the claims, or empty if the token is malformed, tampered or expired
+     */
+    public Optional<Claims> validateAndGetClaims(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String cache = "miss";
+        String result = "valid";
         try {
-            Jwts.parserBuilder().setSigningKey(getKey()).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
+            Parsed parsed = parse(token);
+            cache = parsed.cached() ? "hit" : "miss";
+            return Optional.of(parsed.claims());
+        } catch (JwtException | IllegalArgumentException e) {
+            result = "invalid";
             log.warn("Invalid JWT: {}", e.getMessage());
-            return false;
+            return Optional.empty();
+        } finally {
+            sample.stop(meterRegistry.timer("security.jwt.validation", "result", result, "cache", cache));
+        }
+    }
+
+    public String getUsernameFromToken(String token) {
+        return parse(token).claims().getSubject();
+    }
+
+    public boolean validateToken(String token) {
+        return validateAndGetClaims(token).isPresent();
+    }
+
+    /** Claims of a token and whether they came from the cache, from a single lookup. */
+    private record Parsed(Claims claims, boolean cached) {
+    }
+
+    private Parsed parse(String token) {
+        Claims cached = token != null ? claimsCache.getIfPresent(token) : null;
+        if (cached != null) {
+            return new Parsed(cached, true);
         }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        claimsCache.put(token, claims);
+        return new Parsed(claims, false);
     }
 }
@@ -0,0 +1,55 @@
+package com.nextra.core.security.jwt;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version table for tokens that carry their authorities.
+ *
+ * Every such token is stamped with {@code <epoch>.<userVersion>} at issue time
+ * and is only accepted while the stamp still matches. Bumping a user's version
+ * revokes their outstanding tokens; bumping the epoch revokes every token (used
+ * when a role changes, since any user may hold it).
+ *
+ * The table lives in memory and is cheap to check on every request. The epoch
+ * starts from a random value on every boot, so a restart revokes every such
+ * token issued by the previous process (which may have been revoked there)
+ * and users log in again; the token expiry remains the hard limit.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final AtomicLong epoch = new AtomicLong(ThreadLocalRandom.current().nextLong());
+    private final ConcurrentMap<String, Long> userVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Stamp to embed in a freshly issued token for the user.
+     */
+    public String currentStamp(String username) {
+        return epoch.get() + "." + userVersions.getOrDefault(username, 0L);
+    }
+
+    public boolean isCurrent(String username, String stamp) {
+        return stamp != null && stamp.equals(currentStamp(username));
+    }
+
+    /**
+     * Revoke every token previously issued to the user.
+     */
+    public void bump(String username) {
+        if (username != null) {
+            userVersions.merge(username, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Revoke every token issued so far.
+     */
+    public void bumpAll() {
+        epoch.incrementAndGet();
+    }
+}
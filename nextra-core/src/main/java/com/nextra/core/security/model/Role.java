@@ -1,14 +1,16 @@
 package com.nextra.core.security.model;
 
+import com.nextra.core.security.cache.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @Table(name = "roles")
+@EntityListeners(UserCacheInvalidationListener.class)
 public class Role {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -1,6 +1,7 @@
 package com.nextra.core.security.model;
 
 import com.nextra.core.persistence.model.BaseEntity;
+import com.nextra.core.security.cache.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -14,6 +15,7 @@ import java.util.Set;
 @AllArgsConstructor
 @SuperBuilder(toBuilder = true)
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidationListener.class)
 public class User extends BaseEntity {
 
     @Column(unique = true, nullable = false)
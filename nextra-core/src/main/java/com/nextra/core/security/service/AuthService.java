@@ -1,27 +1,68 @@
 package com.nextra.core.security.service;
 
+import com.nextra.core.common.exceptions.TooManyRequestsException;
 import com.nextra.core.security.dto.AuthResponse;
 import com.nextra.core.security.dto.LoginRequest;
 import com.nextra.core.security.jwt.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final AuthenticationManager authManager;
     private final JwtTokenProvider jwtProvider;
+    private final ThreadPoolTaskExecutor loginExecutor;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Authenticate on the dedicated login pool; the password hash never runs
+     * on the servlet thread.
+     *
+     * @throws TooManyRequestsException when the login queue is full
+     */
+    public CompletableFuture<AuthResponse> login(LoginRequest req) {
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticate(req), loginExecutor);
+        } catch (TaskRejectedException e) {
+            log.warn("🚦 Login queue full, rejecting login for: {}", req.getUsername());
+            meterRegistry.counter("security.login.rejected").increment();
+            throw new TooManyRequestsException("Too many login attempts, please retry shortly");
+        }
+    }
 
-    public AuthResponse login(LoginRequest req) {
-        Authentication auth = authManager.authenticate(
-                new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword())
-        );
+    /**
+     * Timed as {@code security.login} (password check + token), tagged by outcome.
+     */
+    private AuthResponse authenticate(LoginRequest req) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            Authentication auth = authManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword())
+            );
 
-        String token = jwtProvider.generateToken(auth.getName());
-        return new AuthResponse(token);
+            String token = jwtProvider.generateToken((UserDetails) auth.getPrincipal());
+            return new AuthResponse(token);
+        } catch (AuthenticationException e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("security.login", "outcome", outcome));
+        }
     }
 }
@@ -0,0 +1,30 @@
+package com.nextra.core.storage;
+
+import java.nio.file.Path;
+
+/**
+ * Callback for components that react to files entering or leaving storage
+ * (derivative generation, metrics, search indexing, ...).
+ *
+ * Storage implementations notify every listener bean after the operation has
+ * completed. Listener failures are logged and never fail the upload or delete.
+ */
+public interface StorageEventListener {
+
+    /**
+     * A new file has been stored.
+     *
+     * @param result   Metadata returned to the uploader
+     * @param folder   Folder requested by the caller (e.g. "properties")
+     * @param location Local file location, or null for remote providers
+     */
+    default void onFileStored(StorageResult result, String folder, Path location) { }
+
+    /**
+     * A file has been removed from storage.
+     *
+     * @param fileId   The deleted file ID
+     * @param location Local file location it had, or null for remote providers
+     */
+    default void onFileDeleted(String fileId, Path location) { }
+}
@@ -0,0 +1,62 @@
+package com.nextra.core.storage;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records latency and size of uploads and deletes for every
+ * {@link StorageService} implementation:
+ * {@code storage.upload} / {@code storage.delete} timers tagged by provider
+ * and outcome, and {@code storage.upload.bytes}.
+ *
+ * Serving is measured by StorageController ({@code storage.serve.bytes}) and
+ * by the HTTP server metrics of the /uploads route.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class StorageMetricsAspect {
+
+    private final MeterRegistry registry;
+
+    @Around("execution(* com.nextra.core.storage.StorageService+.uploadFile(..))")
+    public Object timeUpload(ProceedingJoinPoint joinPoint) throws Throwable {
+        StorageService service = (StorageService) joinPoint.getTarget();
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof StorageResult stored && stored.getFileSize() != null) {
+                DistributionSummary.builder("storage.upload.bytes")
+                        .baseUnit("bytes")
+                        .tag("provider", service.getProvider().name())
+                        .register(registry)
+                        .record(stored.getFileSize());
+            }
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(registry.timer("storage.upload", "provider", service.getProvider().name(), "outcome", outcome));
+        }
+    }
+
+    @Around("execution(boolean com.nextra.core.storage.StorageService+.deleteFile(..))")
+    public Object timeDelete(ProceedingJoinPoint joinPoint) throws Throwable {
+        StorageService service = (StorageService) joinPoint.getTarget();
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            Object deleted = joinPoint.proceed();
+            outcome = Boolean.TRUE.equals(deleted) ? "success" : "missing";
+            return deleted;
+        } finally {
+            sample.stop(registry.timer("storage.delete", "provider", service.getProvider().name(), "outcome", outcome));
+        }
+    }
+}
@@ -1,80 +1,308 @@
 package com.nextra.core.storage.controller;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nextra.core.storage.image.ImageVariant;
+import com.nextra.core.storage.image.ImageVariantService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Controller for serving uploaded files from local storage.
  * Provides a simple HTTP endpoint to access stored files.
+ *
+ * Supports single byte-range requests (206), conditional GETs via
+ * ETag / Last-Modified (304) and hands the body to the container's
+ * sendfile support when available, falling back to FileChannel.transferTo.
+ * File metadata and content types are cached for a short TTL so repeated
+ * requests for the same thumbnail do not touch the filesystem.
+ *
+ * Images with generated variants can be requested at a bounded size with
+ * {@code ?size=thumb|card|full}; until the variant exists the original is
+ * served with a short cache lifetime.
  */
 @Slf4j
 @RestController
 @RequestMapping("/uploads")
 @RequiredArgsConstructor
 public class StorageController {
-    
+
+    // Tomcat request attributes for zero-copy file transfer
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     @Value("${storage.local.base-path:./uploads}")
     private String basePath;
-    
+
+    @Value("${storage.local.cache-max-age-seconds:86400}")
+    private long cacheMaxAgeSeconds;
+
+    @Value("${storage.variants.fallback-max-age-seconds:60}")
+    private long fallbackMaxAgeSeconds;
+
+    @Value("${storage.local.metadata-cache-size:10000}")
+    private long metadataCacheSize;
+
+    @Value("${storage.local.metadata-cache-ttl-seconds:30}")
+    private long metadataCacheTtlSeconds;
+
+    private Path uploadPath;
+
+    private Cache<Path, FileMetadata> metadataCache;
+
+    private final ObjectProvider<ImageVariantService> variantService;
+
+    private final MeterRegistry meterRegistry;
+
+    private DistributionSummary fullBytes;
+    private DistributionSummary rangeBytes;
+
+    @PostConstruct
+    public void init() {
+        uploadPath = Paths.get(basePath).toAbsolutePath().normalize();
+        metadataCache = Caffeine.newBuilder()
+                .maximumSize(metadataCacheSize)
+                .expireAfterWrite(Duration.ofSeconds(metadataCacheTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, metadataCache, "storage-metadata");
+        fullBytes = servedBytes("full");
+        rangeBytes = servedBytes("range");
+    }
+
+    private DistributionSummary servedBytes(String type) {
+        return DistributionSummary.builder("storage.serve.bytes")
+                .baseUnit("bytes")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
     /**
      * Serve a file from local storage
      * GET /uploads/{folder}/{filename}
      * GET /uploads/{filename}
+     * GET /uploads/{folder}/{filename}?size=thumb
      */
     @GetMapping(value = {"/{filename:.+}", "/{folder}/{filename:.+}"})
-    public ResponseEntity<Resource> serveFile(
+    public void serveFile(
             @PathVariable(required = false) String folder,
-            @PathVariable String filename
-    ) {
+            @PathVariable String filename,
+            @RequestParam(required = false) String size,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Path filePath = resolve(folder, filename);
+        FileMetadata metadata = filePath != null ? lookup(filePath) : null;
+        if (metadata == null) {
+            log.warn("File not found: {}/{}", folder, filename);
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        long maxAge = cacheMaxAgeSeconds;
+        if (size != null) {
+            ImageVariant variant = ImageVariant.fromKey(size).orElse(null);
+            if (variant == null) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                return;
+            }
+            FileMetadata variantMetadata = lookupVariant(filePath, variant);
+            if (variantMetadata != null) {
+                metadata = variantMetadata;
+            } else {
+                // not rendered yet: don't let caches pin the original under this URL
+                maxAge = fallbackMaxAgeSeconds;
+            }
+        }
+
+        // Conditional GET: sets 304 + validators when the client copy is current
+        if (new ServletWebRequest(request, response).checkNotModified(metadata.etag(), metadata.lastModified())) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + maxAge);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "inline; filename=\"" + metadata.path().getFileName() + "\"");
+        response.setContentType(metadata.contentType());
+
+        long start = 0;
+        long end = metadata.size() - 1;
+
+        HttpRange range = requestedRange(request, metadata);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(metadata.size());
+                end = range.getRangeEnd(metadata.size());
+            } catch (IllegalArgumentException e) {
+                start = metadata.size();
+            }
+            if (start >= metadata.size() || start > end) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + metadata.size());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + start + "-" + end + "/" + metadata.size());
+        }
+
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+        (range != null ? rangeBytes : fullBytes).record(length);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, metadata.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        transfer(metadata, start, length, response);
+    }
+
+    /**
+     * Resolve the requested file, rejecting anything outside the upload root
+     * and the internal dot-directories (variants, temp files, reference counts).
+     */
+    private Path resolve(String folder, String filename) {
+        if ((folder != null && folder.startsWith(".")) || filename.startsWith(".")) {
+            return null;
+        }
+        Path filePath = (folder != null ? uploadPath.resolve(folder) : uploadPath)
+                .resolve(filename)
+                .normalize();
+        return filePath.startsWith(uploadPath) ? filePath : null;
+    }
+
+    /**
+     * Metadata of a generated variant, or null if variants are disabled or not rendered yet.
+     */
+    private FileMetadata lookupVariant(Path original, ImageVariant variant) throws IOException {
+        ImageVariantService variants = variantService.getIfAvailable();
+        if (variants == null) {
+            return null;
+        }
+        String relative = uploadPath.relativize(original).toString().replace('\\', '/');
+        return lookup(variants.variantPath(relative, variant));
+    }
+
+    /**
+     * Cached file metadata, or null when the file does not exist.
+     */
+    private FileMetadata lookup(Path filePath) throws IOException {
+        FileMetadata cached = metadataCache.getIfPresent(filePath);
+        if (cached != null) {
+            return cached;
+        }
+
+        BasicFileAttributes attrs;
         try {
-            // Build file path
-            Path uploadPath = Paths.get(basePath);
-            Path filePath = folder != null 
-                    ? uploadPath.resolve(folder).resolve(filename)
-                    : uploadPath.resolve(filename);
-            
-            // Check if file exists
-            if (!Files.exists(filePath) || !Files.isRegularFile(filePath)) {
-                log.warn("File not found: {}", filePath);
-                return ResponseEntity.notFound().build();
+            attrs = Files.readAttributes(filePath, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (!attrs.isRegularFile()) {
+            return null;
+        }
+
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        String contentType = MediaTypeFactory.getMediaType(filePath.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+        String etag = "\"" + Long.toHexString(attrs.size()) + "-" + Long.toHexString(lastModified) + "\"";
+
+        FileMetadata metadata = new FileMetadata(filePath, attrs.size(), lastModified, contentType, etag);
+        metadataCache.put(filePath, metadata);
+        return metadata;
+    }
+
+    /**
+     * The single byte range to serve, or null to send the full file.
+     * Multi-range and malformed headers are ignored, as RFC 9110 allows.
+     */
+    private HttpRange requestedRange(HttpServletRequest request, FileMetadata metadata) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(metadata.etag())) {
+            long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            if (ifRangeDate == -1 || ifRangeDate / 1000 != metadata.lastModified() / 1000) {
+                return null;
             }
-            
-            // Load file as Resource
-            Resource resource = new UrlResource(filePath.toUri());
-            
-            if (!resource.exists() || !resource.isReadable()) {
-                log.warn("File not readable: {}", filePath);
-                return ResponseEntity.notFound().build();
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Copy a region of the file straight from its channel to the response.
+     */
+    private void transfer(FileMetadata metadata, long start, long length, HttpServletResponse response)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(metadata.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
             }
-            
-            // Determine content type
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        } catch (NoSuchFileException e) {
+            // deleted after the metadata was cached
+            metadataCache.invalidate(metadata.path());
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.NOT_FOUND.value());
             }
-            
-            // Return file with appropriate headers
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, 
-                            "inline; filename=\"" + resource.getFilename() + "\"")
-                    .body(resource);
-                    
-        } catch (IOException e) {
-            log.error("Error serving file: {}/{}", folder, filename, e);
-            return ResponseEntity.internalServerError().build();
         }
     }
+
+    private record FileMetadata(Path path, long size, long lastModified, String contentType, String etag) { }
 }
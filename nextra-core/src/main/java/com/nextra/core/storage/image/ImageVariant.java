@@ -0,0 +1,40 @@
+package com.nextra.core.storage.image;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Bounded-size renditions generated for uploaded images.
+ * The size is the maximum of width and height; images are never upscaled.
+ */
+public enum ImageVariant {
+    THUMB(320),
+    CARD(800),
+    FULL(1920);
+
+    private final int maxDimension;
+
+    ImageVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    /**
+     * Name used in URLs and on disk (e.g. "thumb").
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Optional<ImageVariant> fromKey(String key) {
+        for (ImageVariant variant : values()) {
+            if (variant.key().equalsIgnoreCase(key)) {
+                return Optional.of(variant);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,357 @@
+package com.nextra.core.storage.image;
+
+import com.nextra.core.storage.StorageEventListener;
+import com.nextra.core.storage.StorageResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Background pipeline that renders bounded-size JPEG variants (see
+ * {@link ImageVariant}) for images uploaded to the configured folders.
+ *
+ * Each upload is recorded as a job file under {@code .variants/queue} before
+ * it is handed to a bounded worker pool; the job file is removed once the
+ * variants are written. Jobs left over from a crash or a full queue are picked
+ * up again by a periodic sweep, which also runs at startup.
+ *
+ * Variants live next to the originals under
+ * {@code .variants/<size>/<folder>/<fileId>.jpg} and are served by
+ * StorageController via the {@code size} request parameter.
+ * Only JPEG output is produced, as the JDK ships no WebP encoder.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "storage.variants.enabled", havingValue = "true", matchIfMissing = true)
+public class ImageVariantService implements StorageEventListener {
+
+    private static final String VARIANTS_DIR = ".variants";
+    private static final String QUEUE_DIR = "queue";
+    private static final String JOB_SUFFIX = ".job";
+    private static final String VARIANT_EXTENSION = ".jpg";
+
+    @Value("${storage.local.base-path:./uploads}")
+    private String basePath;
+
+    @Value("${storage.variants.folders:properties}")
+    private String[] folders;
+
+    @Value("${storage.variants.workers:2}")
+    private int workers;
+
+    @Value("${storage.variants.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${storage.variants.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    @Value("${storage.variants.sweep-interval-seconds:60}")
+    private long sweepIntervalSeconds;
+
+    private Path uploadPath;
+    private Path variantsPath;
+    private Path queuePath;
+    private Set<String> enabledFolders;
+
+    private ThreadPoolExecutor workerPool;
+    private ScheduledExecutorService sweeper;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() throws IOException {
+        uploadPath = Paths.get(basePath).toAbsolutePath().normalize();
+        variantsPath = uploadPath.resolve(VARIANTS_DIR);
+        queuePath = Files.createDirectories(variantsPath.resolve(QUEUE_DIR));
+        enabledFolders = Arrays.stream(folders).map(String::trim).collect(Collectors.toSet());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        workerPool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "image-variants-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "image-variants-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::enqueuePending, 0, sweepIntervalSeconds, TimeUnit.SECONDS);
+
+        log.info("Image variant pipeline started for folders {} ({} workers)", enabledFolders, workers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // pending job files stay on disk and are resumed on next start
+        sweeper.shutdownNow();
+        workerPool.shutdownNow();
+    }
+
+    @Override
+    public void onFileStored(StorageResult result, String folder, Path location) {
+        if (location == null || folder == null || !enabledFolders.contains(folder)
+                || result.getContentType() == null || !result.getContentType().startsWith("image/")) {
+            return;
+        }
+
+        String jobName = result.getFileId() + JOB_SUFFIX;
+        try {
+            Path tmp = Files.createTempFile(queuePath, result.getFileId(), ".tmp");
+            Files.writeString(tmp, relativize(location), StandardCharsets.UTF_8);
+            Files.move(tmp, queuePath.resolve(jobName), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Failed to queue image variants for {}", result.getFileId(), e);
+            return;
+        }
+        submit(jobName);
+    }
+
+    @Override
+    public void onFileDeleted(String fileId, Path location) {
+        if (location == null) {
+            return;
+        }
+        String relative = relativize(location);
+        try {
+            Files.deleteIfExists(queuePath.resolve(fileId + JOB_SUFFIX));
+            for (ImageVariant variant : ImageVariant.values()) {
+                Files.deleteIfExists(variantPath(relative, variant));
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete image variants for {}: {}", fileId, e.getMessage());
+        }
+    }
+
+    /**
+     * Where the given variant of an original (relative to the upload root) is stored.
+     */
+    public Path variantPath(String relativeOriginal, ImageVariant variant) {
+        Path original = Paths.get(relativeOriginal);
+        String filename = original.getFileName().toString();
+        int lastDot = filename.lastIndexOf('.');
+        String baseName = lastDot > 0 ? filename.substring(0, lastDot) : filename;
+
+        Path dir = variantsPath.resolve(variant.key());
+        if (original.getParent() != null) {
+            dir = dir.resolve(original.getParent());
+        }
+        return dir.resolve(baseName + VARIANT_EXTENSION);
+    }
+
+    /**
+     * Number of jobs waiting for a worker (for diagnostics).
+     */
+    public int getQueuedJobs() {
+        return workerPool.getQueue().size();
+    }
+
+    private void enqueuePending() {
+        try (DirectoryStream<Path> jobs = Files.newDirectoryStream(queuePath, "*" + JOB_SUFFIX)) {
+            for (Path job : jobs) {
+                submit(job.getFileName().toString());
+            }
+        } catch (IOException e) {
+            log.warn("Failed to scan image variant queue: {}", e.getMessage());
+        }
+    }
+
+    private void submit(String jobName) {
+        if (!inFlight.add(jobName)) {
+            return;
+        }
+        try {
+            workerPool.execute(() -> process(jobName));
+        } catch (RejectedExecutionException e) {
+            // job file stays on disk; the next sweep retries it
+            inFlight.remove(jobName);
+            log.debug("Image variant queue full, deferring {}", jobName);
+        }
+    }
+
+    private void process(String jobName) {
+        Path job = queuePath.resolve(jobName);
+        try {
+            if (!Files.exists(job)) {
+                return;
+            }
+            String relative = Files.readString(job, StandardCharsets.UTF_8).trim();
+            Path original = uploadPath.resolve(relative);
+            if (Files.exists(original)) {
+                long start = System.nanoTime();
+                generate(original, relative);
+                log.debug("Image variants for {} generated in {} ms", relative, (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (Exception e) {
+            log.error("Failed to generate image variants for job {}", jobName, e);
+        } finally {
+            try {
+                Files.deleteIfExists(job);
+            } catch (IOException e) {
+                log.warn("Failed to remove image variant job {}: {}", jobName, e.getMessage());
+            }
+            inFlight.remove(jobName);
+        }
+    }
+
+    /**
+     * Render all variants, largest first, each one downscaled from the previous.
+     */
+    private void generate(Path original, String relative) throws IOException {
+        BufferedImage source = read(original, ImageVariant.FULL.getMaxDimension());
+        if (source == null) {
+            log.warn("Unsupported image format, no variants for {}", relative);
+            return;
+        }
+
+        ImageVariant[] bySizeDesc = ImageVariant.values().clone();
+        Arrays.sort(bySizeDesc, (a, b) -> Integer.compare(b.getMaxDimension(), a.getMaxDimension()));
+
+        BufferedImage current = toRgb(source);
+        for (ImageVariant variant : bySizeDesc) {
+            current = scale(current, variant.getMaxDimension());
+            Path target = variantPath(relative, variant);
+            Files.createDirectories(target.getParent());
+            writeJpeg(current, target);
+        }
+    }
+
+    /**
+     * Decode with source subsampling so very large photos never materialise
+     * at full resolution; the result is still at least twice the largest variant.
+     */
+    private BufferedImage read(Path file, int maxDimension) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int largestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, largestSide / (2 * maxDimension));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source, int maxDimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        // halve first: a single bilinear pass over a large reduction aliases badly
+        BufferedImage current = source;
+        while (width / 2 >= targetWidth && height / 2 >= targetHeight) {
+            width /= 2;
+            height /= 2;
+            current = resize(current, width, height);
+        }
+        if (width != targetWidth || height != targetHeight) {
+            current = resize(current, targetWidth, targetHeight);
+        }
+        return current;
+    }
+
+    private BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * JPEG has no alpha channel: flatten transparent images onto white.
+     */
+    private BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Path tmp = Files.createTempFile(target.getParent(), "variant-", ".tmp");
+        try {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            writer.dispose();
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private String relativize(Path location) {
+        return uploadPath.relativize(location.toAbsolutePath().normalize()).toString().replace('\\', '/');
+    }
+}
@@ -0,0 +1,263 @@
+package com.nextra.core.storage.impl;
+
+import com.nextra.core.storage.StorageProvider;
+import com.nextra.core.storage.StorageResult;
+import com.nextra.core.storage.StorageService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Content-addressed local storage: every upload is streamed through a
+ * SHA-256 digest and the bytes are kept once, under their hash.
+ *
+ * The file ID returned to callers is the hash itself, so uploading the same
+ * photo for ten properties yields ten references to a single blob. Each blob
+ * carries a reference count (a small sidecar file under ".refs") and
+ * deleteFile only removes the bytes when the last reference is released.
+ *
+ * Blobs are sharded by the first two hex characters of their hash
+ * ({@code uploads/ab/ab12...ef.jpg}); the folder passed by callers is not
+ * part of the layout since identical content must resolve to one path.
+ *
+ * Enable with {@code storage.local.deduplicate=true}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "storage.local.deduplicate", havingValue = "true")
+public class DeduplicatingStorageService implements StorageService {
+
+    private static final String TMP_DIR = ".tmp";
+    private static final String REFS_DIR = ".refs";
+    private static final int LOCK_STRIPES = 64;
+
+    @Value("${storage.local.base-path:./uploads}")
+    private String basePath;
+
+    @Value("${storage.local.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    @Value("${storage.local.watch:true}")
+    private boolean watchForChanges;
+
+    private Path uploadPath;
+    private Path tmpPath;
+    private Path refsPath;
+
+    private LocalFileIndex fileIndex;
+
+    @Autowired
+    private StorageEvents events = StorageEvents.NONE;
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    @PostConstruct
+    public void init() {
+        try {
+            uploadPath = Paths.get(basePath);
+            tmpPath = Files.createDirectories(uploadPath.resolve(TMP_DIR));
+            refsPath = Files.createDirectories(uploadPath.resolve(REFS_DIR));
+            for (int i = 0; i < LOCK_STRIPES; i++) {
+                locks[i] = new ReentrantLock();
+            }
+            fileIndex = new LocalFileIndex(uploadPath);
+            fileIndex.open(watchForChanges);
+            log.info("Deduplicating storage initialized at: {}", uploadPath.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Failed to initialize deduplicating storage directory", e);
+            throw new RuntimeException("Could not initialize local storage", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fileIndex != null) {
+            fileIndex.close();
+        }
+    }
+
+    @Override
+    public StorageResult uploadFile(MultipartFile file, String folder) throws IOException {
+        if (file.isEmpty()) {
+            throw new IOException("Cannot upload empty file");
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            return uploadFile(in, file.getOriginalFilename(), file.getContentType(), folder);
+        }
+    }
+
+    @Override
+    public StorageResult uploadFile(InputStream inputStream, String filename, String contentType, String folder) throws IOException {
+        // Stream to a temp file while hashing, so the upload is read exactly once
+        Path tempFile = Files.createTempFile(tmpPath, "upload-", ".part");
+        String hash;
+        try {
+            MessageDigest digest = sha256();
+            try (DigestInputStream in = new DigestInputStream(inputStream, digest)) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            hash = HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        long fileSize = Files.size(tempFile);
+        Path blob;
+        boolean duplicate;
+
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            blob = fileIndex.resolve(hash);
+            duplicate = blob != null && Files.exists(blob);
+            if (duplicate) {
+                Files.delete(tempFile);
+                writeRefCount(hash, readRefCount(hash) + 1);
+            } else {
+                Path shard = Files.createDirectories(uploadPath.resolve(hash.substring(0, 2)));
+                fileIndex.registerDirectory(shard);
+                blob = shard.resolve(hash + getFileExtension(filename));
+                Files.move(tempFile, blob, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                fileIndex.put(hash, blob);
+                writeRefCount(hash, 1);
+            }
+        } finally {
+            lock.unlock();
+            Files.deleteIfExists(tempFile);
+        }
+
+        String storedFilename = blob.getFileName().toString();
+        String publicUrl = baseUrl + "/uploads/" + fileIndex.relativePath(hash);
+
+        log.info("File uploaded: {} -> {} ({}{})", filename, hash, publicUrl, duplicate ? ", deduplicated" : "");
+
+        StorageResult result = StorageResult.builder()
+                .fileId(hash)
+                .originalFilename(filename)
+                .storedFilename(storedFilename)
+                .publicUrl(publicUrl)
+                .fileSize(fileSize)
+                .contentType(contentType)
+                .provider(StorageProvider.LOCAL)
+                .build();
+        if (!duplicate) {
+            events.stored(result, folder, blob);
+        }
+        return result;
+    }
+
+    /**
+     * Release one reference to the blob; the bytes are removed with the last one.
+     */
+    @Override
+    public boolean deleteFile(String fileId) {
+        ReentrantLock lock = lockFor(fileId);
+        lock.lock();
+        try {
+            Path blob = fileIndex.resolve(fileId);
+            if (blob == null) {
+                log.warn("File not found for deletion: {}", fileId);
+                return false;
+            }
+
+            int remaining = readRefCount(fileId) - 1;
+            if (remaining > 0) {
+                writeRefCount(fileId, remaining);
+                log.info("File reference released: {} ({} left)", fileId, remaining);
+                return true;
+            }
+
+            Files.deleteIfExists(blob);
+            Files.deleteIfExists(refsPath.resolve(fileId));
+            fileIndex.remove(fileId);
+            log.info("File deleted: {}", fileId);
+            events.deleted(fileId, blob);
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to delete file: {}", fileId, e);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String getFileUrl(String fileId) {
+        String relativePath = fileIndex.relativePath(fileId);
+        return relativePath != null ? baseUrl + "/uploads/" + relativePath : null;
+    }
+
+    @Override
+    public boolean fileExists(String fileId) {
+        return fileIndex.contains(fileId);
+    }
+
+    @Override
+    public StorageProvider getProvider() {
+        return StorageProvider.LOCAL;
+    }
+
+    /**
+     * Current reference count. Blobs without a sidecar (e.g. files written
+     * before deduplication was enabled) count as a single reference.
+     */
+    private int readRefCount(String fileId) throws IOException {
+        Path refs = refsPath.resolve(fileId);
+        if (!Files.exists(refs)) {
+            return 1;
+        }
+        return Integer.parseInt(Files.readString(refs, StandardCharsets.US_ASCII).trim());
+    }
+
+    private void writeRefCount(String fileId, int count) throws IOException {
+        Path tmp = Files.createTempFile(tmpPath, fileId, ".refs");
+        Files.writeString(tmp, Integer.toString(count), StandardCharsets.US_ASCII);
+        Files.move(tmp, refsPath.resolve(fileId), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private ReentrantLock lockFor(String fileId) {
+        return locks[Math.floorMod(fileId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Extract file extension from filename
+     */
+    private String getFileExtension(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int lastDot = filename.lastIndexOf('.');
+        if (lastDot > 0) {
+            return filename.substring(lastDot);
+        }
+        return "";
+    }
+}
@@ -0,0 +1,260 @@
+package com.nextra.core.storage.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory fileId → relative path index for a local upload directory.
+ *
+ * The tree is walked once when the index is opened; after that the owning
+ * storage service keeps it current on upload/delete, and an optional
+ * WatchService reconciles changes made directly on disk (manual cleanup,
+ * rsync, another process). Directories starting with "." are reserved for
+ * internal data and are never indexed.
+ */
+@Slf4j
+class LocalFileIndex implements AutoCloseable {
+
+    private final Path root;
+    /** Replaced wholesale by {@link #rebuild()}, so readers never see a half-scanned tree. */
+    private volatile Map<String, String> entries = new ConcurrentHashMap<>();
+    /** The map a rebuild is scanning into; concurrent updates go to it as well. */
+    private volatile Map<String, String> building;
+    private final Map<WatchKey, Path> watchedDirs = new ConcurrentHashMap<>();
+
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    LocalFileIndex(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Build the index and, if requested, start watching the tree for external changes.
+     */
+    void open(boolean watch) throws IOException {
+        if (watch) {
+            watchService = FileSystems.getDefault().newWatchService();
+        }
+        rebuild();
+
+        if (watchService != null) {
+            watcherThread = new Thread(this::watchLoop, "storage-index-watcher");
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+        }
+        log.info("Storage index ready: {} files under {}", entries.size(), root);
+    }
+
+    /**
+     * Resolve a file ID to its path, or null if it is not indexed.
+     */
+    Path resolve(String fileId) {
+        String relative = entries.get(fileId);
+        return relative != null ? root.resolve(relative) : null;
+    }
+
+    /**
+     * Relative path (always '/'-separated) of a file ID, or null if it is not indexed.
+     */
+    String relativePath(String fileId) {
+        return entries.get(fileId);
+    }
+
+    boolean contains(String fileId) {
+        return entries.containsKey(fileId);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void put(String fileId, Path file) {
+        String relative = toRelative(file);
+        entries.put(fileId, relative);
+        Map<String, String> next = building;
+        if (next != null) {
+            next.put(fileId, relative);
+        }
+    }
+
+    void remove(String fileId) {
+        entries.remove(fileId);
+        Map<String, String> next = building;
+        if (next != null) {
+            next.remove(fileId);
+        }
+    }
+
+    /**
+     * Drop what a path deleted on disk held: its own entry, if it still points
+     * there, or else (it was a directory, or the owning service already
+     * removed the file) every entry below it. The directory itself may no
+     * longer be in {@link #watchedDirs} by then, so it is not asked.
+     */
+    private void removeDeleted(Path deleted) {
+        String fileId = fileIdOf(deleted);
+        String relative = toRelative(deleted);
+        removeDeleted(entries, fileId, relative);
+        Map<String, String> next = building;
+        if (next != null) {
+            removeDeleted(next, fileId, relative);
+        }
+    }
+
+    private static void removeDeleted(Map<String, String> map, String fileId, String relative) {
+        if (!map.remove(fileId, relative)) {
+            String prefix = relative + "/";
+            map.values().removeIf(path -> path.startsWith(prefix));
+        }
+    }
+
+    /**
+     * Make sure a (possibly new) directory is watched. Cheap when already registered.
+     */
+    void registerDirectory(Path dir) {
+        if (watchService == null || isHidden(dir)) {
+            return;
+        }
+        Path normalized = dir.toAbsolutePath().normalize();
+        if (watchedDirs.containsValue(normalized)) {
+            return;
+        }
+        try {
+            WatchKey key = normalized.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            watchedDirs.put(key, normalized);
+        } catch (IOException e) {
+            log.warn("Cannot watch storage directory {}: {}", normalized, e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the index from a single walk of the tree. Lookups keep using the
+     * current map until the new one is complete and swapped in.
+     */
+    synchronized void rebuild() throws IOException {
+        Map<String, String> fresh = new ConcurrentHashMap<>();
+        building = fresh;
+        try {
+            scan(root, file -> fresh.put(fileIdOf(file), toRelative(file)));
+            entries = fresh;
+        } finally {
+            building = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Error closing storage watch service", e);
+            }
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+
+    /**
+     * Extract the file ID from a stored filename (the part before the extension).
+     */
+    static String fileIdOf(Path file) {
+        String name = file.getFileName().toString();
+        int lastDot = name.lastIndexOf('.');
+        return lastDot > 0 ? name.substring(0, lastDot) : name;
+    }
+
+    private void scan(Path dir, Consumer<Path> onFile) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.filter(path -> !isHidden(path)).forEach(path -> {
+                if (Files.isDirectory(path)) {
+                    registerDirectory(path);
+                } else if (Files.isRegularFile(path)) {
+                    onFile.accept(path);
+                }
+            });
+        }
+    }
+
+    private void watchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path dir = watchedDirs.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                try {
+                    handleEvent(dir, event);
+                } catch (IOException e) {
+                    log.warn("Failed to apply storage change {} in {}: {}", event.kind(), dir, e.getMessage());
+                }
+            }
+
+            if (!key.reset()) {
+                watchedDirs.remove(key);
+            }
+        }
+    }
+
+    private void handleEvent(Path dir, WatchEvent<?> event) throws IOException {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            log.warn("Storage watch overflow, rebuilding index");
+            rebuild();
+            return;
+        }
+        if (dir == null) {
+            return;
+        }
+
+        Path changed = dir.resolve((Path) event.context());
+        if (isHidden(changed)) {
+            return;
+        }
+
+        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+            if (Files.isDirectory(changed)) {
+                scan(changed, file -> put(fileIdOf(file), file));
+            } else if (Files.isRegularFile(changed)) {
+                put(fileIdOf(changed), changed);
+            }
+        } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE && !Files.exists(changed)) {
+            // skipped if the path was re-created before this event was processed
+            removeDeleted(changed);
+        }
+    }
+
+    private boolean isHidden(Path path) {
+        Path relative = root.relativize(path.toAbsolutePath().normalize());
+        for (Path part : relative) {
+            if (part.toString().startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String toRelative(Path file) {
+        return root.relativize(file.toAbsolutePath().normalize()).toString().replace('\\', '/');
+    }
+}
@@ -4,11 +4,14 @@ import com.nextra.core.storage.StorageProvider;
 import com.nextra.core.storage.StorageResult;
 import com.nextra.core.storage.StorageService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
@@ -26,6 +29,10 @@ import java.util.UUID;
  * - Small to medium deployments
  * - When cloud storage costs are a concern
  * 
+ * Lookups by file ID (delete, URL, exists) go through an in-memory index
+ * built once at startup, so they never scan the upload tree.
+ * See {@link DeduplicatingStorageService} for the content-addressed variant.
+ * 
  * Limitations:
  * - Not suitable for distributed/clustered deployments
  * - Limited by disk space
@@ -33,6 +40,7 @@ import java.util.UUID;
  */
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "storage.local.deduplicate", havingValue = "false", matchIfMissing = true)
 public class LocalStorageService implements StorageService {
     
     @Value("${storage.local.base-path:./uploads}")
@@ -41,13 +49,23 @@ public class LocalStorageService implements StorageService {
     @Value("${storage.local.base-url:http://localhost:8080}")
     private String baseUrl;
     
+    @Value("${storage.local.watch:true}")
+    private boolean watchForChanges;
+    
     private Path uploadPath;
     
+    private LocalFileIndex fileIndex;
+    
+    @Autowired
+    private StorageEvents events = StorageEvents.NONE;
+    
     @PostConstruct
     public void init() {
         try {
             uploadPath = Paths.get(basePath);
             Files.createDirectories(uploadPath);
+            fileIndex = new LocalFileIndex(uploadPath);
+            fileIndex.open(watchForChanges);
             log.info("Local storage initialized at: {}", uploadPath.toAbsolutePath());
         } catch (IOException e) {
             log.error("Failed to initialize local storage directory", e);
@@ -55,6 +73,13 @@ public class LocalStorageService implements StorageService {
         }
     }
     
+    @PreDestroy
+    public void shutdown() {
+        if (fileIndex != null) {
+            fileIndex.close();
+        }
+    }
+    
     @Override
     public StorageResult uploadFile(MultipartFile file, String folder) throws IOException {
         if (file.isEmpty()) {
@@ -81,11 +106,13 @@ public class LocalStorageService implements StorageService {
         if (folder != null && !folder.isEmpty()) {
             targetPath = uploadPath.resolve(folder);
             Files.createDirectories(targetPath);
+            fileIndex.registerDirectory(targetPath);
         }
         
         // Save file
         Path filePath = targetPath.resolve(storedFilename);
         Files.copy(inputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
+        fileIndex.put(fileId, filePath);
         
         // Get file size
         long fileSize = Files.size(filePath);
@@ -95,7 +122,7 @@ public class LocalStorageService implements StorageService {
         
         log.info("File uploaded: {} -> {} ({})", filename, fileId, publicUrl);
         
-        return StorageResult.builder()
+        StorageResult result = StorageResult.builder()
                 .fileId(fileId)
                 .originalFilename(filename)
                 .storedFilename(storedFilename)
@@ -104,18 +131,21 @@ public class LocalStorageService implements StorageService {
                 .contentType(contentType)
                 .provider(StorageProvider.LOCAL)
                 .build();
+        events.stored(result, folder, filePath);
+        return result;
     }
     
     @Override
     public boolean deleteFile(String fileId) {
         try {
-            // Try to find and delete the file in any subfolder
-            Path file = findFile(fileId);
-            if (file != null && Files.exists(file)) {
-                Files.delete(file);
+            Path file = fileIndex.resolve(fileId);
+            if (file != null && Files.deleteIfExists(file)) {
+                fileIndex.remove(fileId);
                 log.info("File deleted: {}", fileId);
+                events.deleted(fileId, file);
                 return true;
             }
+            fileIndex.remove(fileId);
             log.warn("File not found for deletion: {}", fileId);
             return false;
         } catch (IOException e) {
@@ -126,17 +156,16 @@ public class LocalStorageService implements StorageService {
     
     @Override
     public String getFileUrl(String fileId) {
-        Path file = findFile(fileId);
-        if (file != null) {
-            Path relativePath = uploadPath.relativize(file);
-            return baseUrl + "/uploads/" + relativePath.toString().replace("\\", "/");
+        String relativePath = fileIndex.relativePath(fileId);
+        if (relativePath != null) {
+            return baseUrl + "/uploads/" + relativePath;
         }
         return null;
     }
     
     @Override
     public boolean fileExists(String fileId) {
-        return findFile(fileId) != null;
+        return fileIndex.contains(fileId);
     }
     
     @Override
@@ -144,22 +173,6 @@ public class LocalStorageService implements StorageService {
         return StorageProvider.LOCAL;
     }
     
-    /**
-     * Find a file in the upload directory by its ID
-     */
-    private Path findFile(String fileId) {
-        try {
-            return Files.walk(uploadPath)
-                    .filter(Files::isRegularFile)
-                    .filter(path -> path.getFileName().toString().startsWith(fileId))
-                    .findFirst()
-                    .orElse(null);
-        } catch (IOException e) {
-            log.error("Error searching for file: {}", fileId, e);
-            return null;
-        }
-    }
-    
     /**
      * Extract file extension from filename
      */
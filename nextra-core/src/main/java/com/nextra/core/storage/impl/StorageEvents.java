@@ -0,0 +1,55 @@
+package com.nextra.core.storage.impl;
+
+import com.nextra.core.storage.StorageEventListener;
+import com.nextra.core.storage.StorageResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Fans storage events out to every {@link StorageEventListener} bean for the
+ * local storage services. A failing listener is logged and skipped, so it
+ * never fails the upload or delete that triggered it.
+ */
+@Slf4j
+@Component
+class StorageEvents {
+
+    /** No listeners; used by services created outside the application context. */
+    static final StorageEvents NONE = new StorageEvents(List.of());
+
+    private final List<StorageEventListener> listeners;
+
+    @Autowired
+    StorageEvents(ObjectProvider<StorageEventListener> listeners) {
+        this(listeners.orderedStream().toList());
+    }
+
+    private StorageEvents(List<StorageEventListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    void stored(StorageResult result, String folder, Path location) {
+        for (StorageEventListener listener : listeners) {
+            try {
+                listener.onFileStored(result, folder, location);
+            } catch (RuntimeException e) {
+                log.error("Storage listener {} failed for {}", listener.getClass().getSimpleName(), result.getFileId(), e);
+            }
+        }
+    }
+
+    void deleted(String fileId, Path location) {
+        for (StorageEventListener listener : listeners) {
+            try {
+                listener.onFileDeleted(fileId, location);
+            } catch (RuntimeException e) {
+                log.error("Storage listener {} failed for {}", listener.getClass().getSimpleName(), fileId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.nextra.core.system;
+
+import com.nextra.core.api.ApiResponse;
+import com.nextra.core.persistence.cache.BoundedJCacheRegionFactory;
+import com.nextra.core.persistence.cache.CacheRegionStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class CacheController {
+
+    private final ObjectProvider<BoundedJCacheRegionFactory> regionFactory;
+
+    public CacheController(ObjectProvider<BoundedJCacheRegionFactory> regionFactory) {
+        this.regionFactory = regionFactory;
+    }
+
+    /**
+     * Hit/miss counters per second-level cache region (empty when the cache is disabled).
+     */
+    @GetMapping("api/system/cache")
+    public ApiResponse<List<CacheRegionStats>> regions() {
+        BoundedJCacheRegionFactory factory = regionFactory.getIfAvailable();
+        return ApiResponse.ok(factory == null ? List.of() : factory.regionStats());
+    }
+}
@@ -0,0 +1,44 @@
+package com.nextra.core.api;
+
+import com.nextra.core.persistence.pagination.TotalAccuracy;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PagedResponseTest {
+
+    @Test
+    void lastPageWithContentHasAnExactTotal() {
+        PagedResponse<String> response = PagedResponse.from(
+                new SliceImpl<>(List.of("a", "b"), PageRequest.of(2, 10), false), 40);
+
+        assertThat(response.getTotalElements()).isEqualTo(22);
+        assertThat(response.getTotalPages()).isEqualTo(3);
+        assertThat(response.getTotalAccuracy()).isEqualTo(TotalAccuracy.EXACT);
+    }
+
+    @Test
+    void emptyFirstPageHasAnExactTotalOfZero() {
+        PagedResponse<String> response = PagedResponse.from(
+                new SliceImpl<>(List.of(), PageRequest.of(0, 10), false), 7);
+
+        assertThat(response.getTotalElements()).isZero();
+        assertThat(response.getTotalAccuracy()).isEqualTo(TotalAccuracy.EXACT);
+    }
+
+    @Test
+    void pagePastTheEndKeepsTheEstimate() {
+        PagedResponse<String> response = PagedResponse.from(
+                new SliceImpl<>(List.of(), PageRequest.of(50, 10), false), 42);
+
+        assertThat(response.isLast()).isTrue();
+        assertThat(response.getContent()).isEmpty();
+        assertThat(response.getTotalElements()).isEqualTo(42);
+        assertThat(response.getTotalPages()).isEqualTo(5);
+        assertThat(response.getTotalAccuracy()).isEqualTo(TotalAccuracy.APPROXIMATE);
+    }
+}
@@ -0,0 +1,75 @@
+package com.nextra.core.importer;
+
+import com.nextra.core.importer.reader.CsvRecordReader;
+import com.nextra.core.importer.reader.JsonRecordReader;
+import com.nextra.core.importer.reader.RecordReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordReaderTest {
+
+    @Test
+    void csvHandlesQuotesLineBreaksAndSemicolonDelimiter() throws IOException {
+        String csv = "\uFEFFtitle;price;description\r\n"
+                + "Loft;120000;\"Bright; \"\"quiet\"\"\nand central\"\r\n"
+                + "\n"
+                + "Villa;450000\n";
+
+        List<Map<String, String>> records = readAll(new CsvRecordReader(stream(csv)));
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0))
+                .containsEntry("title", "Loft")
+                .containsEntry("description", "Bright; \"quiet\"\nand central");
+        assertThat(records.get(1))
+                .containsEntry("price", "450000")
+                .containsEntry("description", null);
+    }
+
+    @Test
+    void csvRejectsUnterminatedQuote() throws IOException {
+        RecordReader reader = new CsvRecordReader(stream("title,price\n\"Loft,1\n"));
+
+        assertThatThrownBy(reader::next).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void jsonReadsFlatObjectsAndJoinsArrays() throws IOException {
+        String json = "[{\"title\":\"Loft\",\"price\":120000,\"images\":[\"a.jpg\",\"b.jpg\"],\"owner\":{\"id\":1}},"
+                + "{\"title\":null}]";
+
+        List<Map<String, String>> records = readAll(new JsonRecordReader(stream(json)));
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0))
+                .containsEntry("price", "120000")
+                .containsEntry("images", "a.jpg|b.jpg")
+                .doesNotContainKey("owner");
+        assertThat(new ImportRow(2, records.get(1)).get("title")).isNull();
+        assertThat(new ImportRow(1, records.get(0)).getList("IMAGES")).containsExactly("a.jpg", "b.jpg");
+    }
+
+    private static List<Map<String, String>> readAll(RecordReader reader) throws IOException {
+        List<Map<String, String>> records = new ArrayList<>();
+        try (reader) {
+            Map<String, String> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
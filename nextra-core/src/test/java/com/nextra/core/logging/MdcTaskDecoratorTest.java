@@ -0,0 +1,36 @@
+package com.nextra.core.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MdcTaskDecoratorTest {
+
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutdown() {
+        MDC.clear();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void taskRunsWithTheSubmittersMdcAndLeavesThePoolThreadClean() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        MDC.put(RequestLoggingFilter.MDC_CORRELATION_ID, "abc-123");
+        Runnable task = new MdcTaskDecorator()
+                .decorate(() -> seen.set(MDC.get(RequestLoggingFilter.MDC_CORRELATION_ID)));
+
+        pool.submit(task).get();
+        String leftOver = pool.submit(() -> MDC.get(RequestLoggingFilter.MDC_CORRELATION_ID)).get();
+
+        assertThat(seen.get()).isEqualTo("abc-123");
+        assertThat(leftOver).isNull();
+    }
+}
@@ -1,11 +1,18 @@
 package com.nextra.core.security;
 
 import com.nextra.core.security.jwt.JwtTokenProvider;
+import com.nextra.core.security.jwt.TokenVersionRegistry;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -15,9 +22,48 @@ class JwtTokenProviderTest {
     @Autowired
     private JwtTokenProvider jwtProvider;
 
+    @Autowired
+    private TokenVersionRegistry versionRegistry;
+
     @Test
     void generateAndValidateToken() {
         String token = jwtProvider.generateToken("testuser");
         assertTrue(jwtProvider.validateToken(token));
     }
+
+    @Test
+    void validateAndGetClaimsReturnsSubjectAndRejectsTamperedToken() {
+        String token = jwtProvider.generateToken("testuser");
+
+        assertEquals("testuser", jwtProvider.validateAndGetClaims(token).orElseThrow().getSubject());
+        // second call is served from the claims cache
+        assertEquals("testuser", jwtProvider.validateAndGetClaims(token).orElseThrow().getSubject());
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertTrue(jwtProvider.validateAndGetClaims(tampered).isEmpty());
+    }
+
+    @Test
+    void embeddedAuthoritiesAreRevokedByVersionBump() {
+        String token = jwtProvider.generateToken(User.withUsername("agent")
+                .password("x")
+                .authorities("ROLE_AGENT", "ROLE_ADMIN")
+                .build());
+        Claims claims = jwtProvider.validateAndGetClaims(token).orElseThrow();
+
+        assertEquals(Set.of("ROLE_AGENT", "ROLE_ADMIN"),
+                jwtProvider.getEmbeddedAuthorities(claims).orElseThrow().stream()
+                        .map(GrantedAuthority::getAuthority).collect(Collectors.toSet()));
+        assertTrue(jwtProvider.isVersionCurrent(claims));
+
+        versionRegistry.bump("agent");
+        assertFalse(jwtProvider.isVersionCurrent(claims));
+    }
+
+    @Test
+    void stampsFromAnEarlierBootAreNotCurrent() {
+        String stamp = new TokenVersionRegistry().currentStamp("agent");
+
+        assertFalse(new TokenVersionRegistry().isCurrent("agent", stamp));
+    }
 }
@@ -0,0 +1,63 @@
+package com.nextra.core.storage;
+
+import com.nextra.core.storage.impl.DeduplicatingStorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeduplicatingStorageServiceTest {
+
+    @TempDir
+    Path uploads;
+
+    private DeduplicatingStorageService storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new DeduplicatingStorageService();
+        ReflectionTestUtils.setField(storage, "basePath", uploads.toString());
+        ReflectionTestUtils.setField(storage, "baseUrl", "http://localhost");
+        ReflectionTestUtils.setField(storage, "watchForChanges", false);
+        storage.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.shutdown();
+    }
+
+    @Test
+    void identicalUploadsShareOneBlobUntilLastReferenceIsDeleted() throws IOException {
+        StorageResult first = upload("same bytes", "a.jpg");
+        StorageResult second = upload("same bytes", "b.jpg");
+        StorageResult other = upload("other bytes", "c.jpg");
+
+        assertThat(second.getFileId()).isEqualTo(first.getFileId());
+        assertThat(second.getPublicUrl()).isEqualTo(first.getPublicUrl());
+        assertThat(other.getFileId()).isNotEqualTo(first.getFileId());
+
+        assertThat(storage.deleteFile(first.getFileId())).isTrue();
+        assertThat(storage.fileExists(first.getFileId())).isTrue();
+
+        assertThat(storage.deleteFile(first.getFileId())).isTrue();
+        assertThat(storage.fileExists(first.getFileId())).isFalse();
+        assertThat(storage.deleteFile(first.getFileId())).isFalse();
+
+        assertThat(storage.fileExists(other.getFileId())).isTrue();
+    }
+
+    private StorageResult upload(String content, String filename) throws IOException {
+        return storage.uploadFile(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                filename, "image/jpeg", "properties");
+    }
+}
@@ -0,0 +1,77 @@
+package com.nextra.core.storage.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalFileIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalFileIndex index;
+
+    @AfterEach
+    void tearDown() {
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    @Test
+    void watcherIndexesMovedInDirectoriesAndDropsDeletedOnes() throws Exception {
+        Path root = Files.createDirectories(tempDir.resolve("uploads"));
+        index = new LocalFileIndex(root);
+        index.open(true);
+
+        // prepared outside the tree, then moved in: one ENTRY_CREATE for the directory
+        Path staged = Files.createDirectories(tempDir.resolve("staged/nested"));
+        Files.writeString(staged.resolve("inner.jpg"), "x");
+        Files.writeString(staged.getParent().resolve("outer.jpg"), "x");
+        Files.move(staged.getParent(), root.resolve("batch"));
+
+        awaitTrue(() -> index.contains("inner") && index.contains("outer"));
+        assertThat(index.relativePath("inner")).isEqualTo("batch/nested/inner.jpg");
+
+        // moved out again: the nested directories never report their files as deleted
+        Files.move(root.resolve("batch"), tempDir.resolve("gone"));
+
+        awaitTrue(() -> !index.contains("inner") && !index.contains("outer"));
+
+        index.rebuild();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void deletedDirectoryLeavesSiblingsWithTheSamePrefixAlone() throws Exception {
+        Path root = Files.createDirectories(tempDir.resolve("uploads"));
+        Files.createDirectories(root.resolve("a"));
+        Files.createDirectories(root.resolve("ab"));
+        Files.writeString(root.resolve("a/one.jpg"), "x");
+        Files.writeString(root.resolve("ab/two.jpg"), "x");
+        index = new LocalFileIndex(root);
+        index.open(true);
+
+        FileSystemUtils.deleteRecursively(root.resolve("a"));
+
+        awaitTrue(() -> !index.contains("one"));
+        assertThat(index.relativePath("two")).isEqualTo("ab/two.jpg");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Index did not catch up with the file system");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -3,14 +3,27 @@ package com.nextra.re.api.controller;
 
 import com.nextra.core.api.BaseController;
 import com.nextra.core.api.ApiResponse;
+import com.nextra.core.common.exceptions.BadRequestException;
+import com.nextra.core.common.exceptions.ResourceNotFoundException;
+import com.nextra.core.importer.ImportReport;
+import com.nextra.core.logging.SqlBudget;
 import com.nextra.re.dto.ClientRequest;
 import com.nextra.re.dto.ClientResponse;
 import com.nextra.re.persistence.model.Client;
 import com.nextra.re.persistence.service.AccountService;
 import com.nextra.re.persistence.service.ClientService;
+import com.nextra.re.search.ClientMatchIndex;
+import com.nextra.re.search.ClientPreferences;
+import com.nextra.re.search.MatchResult;
+import com.nextra.re.search.PropertyMatch;
+import com.nextra.re.search.PropertySearchIndex;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -18,13 +31,22 @@ import java.util.List;
 @RequestMapping("/api/clients")
 public class ClientController extends BaseController<Client, Long> {
 
+    private static final int MAX_MATCHES = 100;
+
     private final ClientService clientService;
     private final AccountService accountService;
+    private final ClientMatchIndex clientMatchIndex;
+    private final PropertySearchIndex searchIndex;
 
-    public ClientController(ClientService clientService, AccountService accountService) {
+    public ClientController(ClientService clientService,
+                            AccountService accountService,
+                            ClientMatchIndex clientMatchIndex,
+                            PropertySearchIndex searchIndex) {
         super(clientService);
         this.clientService = clientService;
         this.accountService = accountService;
+        this.clientMatchIndex = clientMatchIndex;
+        this.searchIndex = searchIndex;
     }
 
     @GetMapping("/agent/{agentId}")
@@ -39,16 +61,49 @@ public class ClientController extends BaseController<Client, Long> {
                 .orElseGet(() -> ResponseEntity.ok(ApiResponse.ok(null)));
     }
 
+    /**
+     * Clients whose stated budget overlaps [min, max], e.g. GET /api/clients/budget?min=200000&max=300000
+     */
     @GetMapping("/budget")
+    @SqlBudget(maxStatements = 1)
     public ResponseEntity<ApiResponse<List<Client>>> getByBudgetRange(
             @RequestParam BigDecimal min,
             @RequestParam BigDecimal max
     ) {
-        // simple example: clients whose preferred min is >= min OR preferred max <= max
-        List<Client> byMin = clientService.findByPreferredBudgetMinGreaterThanEqual(min);
-        List<Client> byMax = clientService.findByPreferredBudgetMaxLessThanEqual(max);
-        byMin.addAll(byMax);
-        return ResponseEntity.ok(ApiResponse.ok(byMin));
+        return ResponseEntity.ok(ApiResponse.ok(clientService.findByBudgetOverlapping(min, max)));
+    }
+
+    /**
+     * Available properties fitting this client's preferences, best match first.
+     * GET /api/clients/{id}/matching-properties?limit=20
+     */
+    @GetMapping("/{id}/matching-properties")
+    @SqlBudget(maxStatements = 0)
+    public ResponseEntity<ApiResponse<MatchResult<PropertyMatch>>> matchingProperties(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        if (limit < 1 || limit > MAX_MATCHES) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_MATCHES);
+        }
+        ClientPreferences client = clientMatchIndex.find(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
+        return ResponseEntity.ok(ApiResponse.ok(searchIndex.matching(client, limit)));
+    }
+
+    /**
+     * Bulk import from a CSV or JSON file; runs in the background.
+     * POST /api/clients/import, then poll GET /api/imports/{jobId}
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ImportReport>> importFile(@RequestParam("file") MultipartFile file) throws IOException {
+        ImportReport report = clientService.importClients(file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.ok(report));
+    }
+
+    @Override
+    protected Object toExportView(Client entity) {
+        return toResponse(entity);
     }
 
     private Client toEntity(ClientRequest dto) {
@@ -2,68 +2,341 @@ package com.nextra.re.api.controller;
 
 import com.nextra.core.api.BaseController;
 import com.nextra.core.api.ApiResponse;
+import com.nextra.core.api.PagedResponse;
+import com.nextra.core.common.exceptions.BadRequestException;
+import com.nextra.core.common.exceptions.ResourceNotFoundException;
+import com.nextra.core.importer.ImportReport;
+import com.nextra.core.logging.SqlBudget;
+import com.nextra.re.dto.PropertyListItem;
 import com.nextra.re.dto.PropertyRequest;
+import com.nextra.re.dto.PropertySearchCriteria;
+import com.nextra.re.geo.GeoPoint;
+import com.nextra.re.geo.GeocodeReport;
 import com.nextra.re.dto.PropertyResponse;
 import com.nextra.re.persistence.model.Property;
 import com.nextra.re.persistence.service.AccountService;
 import com.nextra.re.persistence.service.CategoryService;
 import com.nextra.re.persistence.service.PropertyImageService;
 import com.nextra.re.persistence.service.PropertyService;
+import com.nextra.re.search.ClientMatch;
+import com.nextra.re.search.ClientMatchIndex;
+import com.nextra.re.search.MatchResult;
+import com.nextra.re.search.PropertyFacetQuery;
+import com.nextra.re.search.GeoSearchResult;
+import com.nextra.re.search.PropertyFacetResult;
+import com.nextra.re.search.PropertyGeoQuery;
+import com.nextra.re.search.PropertyHit;
+import com.nextra.re.search.PropertySearchIndex;
+import com.nextra.re.search.PropertyTextIndex;
+import com.nextra.re.search.TextHit;
+import com.nextra.re.search.TextSearchResult;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/properties")
 public class PropertyController extends BaseController<Property, Long> {
 
+    private static final int MAX_TEXT_PAGE_SIZE = 100;
+    private static final int MAX_TEXT_RESULTS = 1000;
+    private static final int MAX_MAP_MARKERS = 1000;
+    private static final int MAX_NEAREST = 100;
+    private static final double MAX_RADIUS_KM = 500;
+    private static final int MAX_MATCHES = 100;
+
     private final PropertyService propertyService;
     private final AccountService accountService;
     private final CategoryService categoryService;
     private final PropertyImageService propertyImageService;
+    private final PropertySearchIndex searchIndex;
+    private final PropertyTextIndex textIndex;
+    private final ClientMatchIndex clientMatchIndex;
 
     public PropertyController(
             PropertyService propertyService,
             AccountService accountService,
             CategoryService categoryService,
-            PropertyImageService propertyImageService
+            PropertyImageService propertyImageService,
+            PropertySearchIndex searchIndex,
+            PropertyTextIndex textIndex,
+            ClientMatchIndex clientMatchIndex
     ) {
         super(propertyService);
         this.propertyService = propertyService;
         this.accountService = accountService;
         this.categoryService = categoryService;
         this.propertyImageService = propertyImageService;
+        this.searchIndex = searchIndex;
+        this.textIndex = textIndex;
+        this.clientMatchIndex = clientMatchIndex;
+    }
+
+    /**
+     * Lightweight listing (no images, owner/category names joined in).
+     * total=none (default) costs a single query; see BaseController#getAll for the other modes.
+     */
+    @GetMapping("/list")
+    @SqlBudget(maxStatements = 2)
+    public ResponseEntity<ApiResponse<PagedResponse<PropertyListItem>>> list(
+            @PageableDefault(size = 10, sort = "id") Pageable pageable,
+            @RequestParam(defaultValue = "none") String total
+    ) {
+        log.info("➡️ [GET] Listing properties (page={}, size={}, total={})",
+                pageable.getPageNumber(), pageable.getPageSize(), total);
+        PagedResponse<PropertyListItem> paged = switch (total.toLowerCase(Locale.ROOT)) {
+            case "exact" -> PagedResponse.from(propertyService.findListItemPage(pageable));
+            case "approximate" -> PagedResponse.from(propertyService.findListItems(pageable), propertyService.approximateCount());
+            case "none" -> PagedResponse.from(propertyService.findListItems(pageable));
+            default -> throw new BadRequestException("total must be one of: exact, approximate, none");
+        };
+        return ResponseEntity.ok(ApiResponse.ok(paged));
+    }
+
+    /**
+     * Multi-criteria search, e.g.
+     * GET /api/properties/search?propertyType=APARTMENT,VILLA&status=AVAILABLE&minBedrooms=2&maxPrice=400000&sort=price,asc
+     * All filters are optional (see PropertySearchCriteria). total=none (default)
+     * is a single query; exact adds a COUNT with the same filters, approximate
+     * serves that count from a short-lived cache.
+     */
+    @GetMapping("/search")
+    @SqlBudget(maxStatements = 2)
+    public ResponseEntity<ApiResponse<PagedResponse<PropertyListItem>>> search(
+            @ModelAttribute PropertySearchCriteria criteria,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable,
+            @RequestParam(defaultValue = "none") String total
+    ) {
+        log.info("➡️ [GET] Searching properties: {} (page={}, size={}, total={})",
+                criteria, pageable.getPageNumber(), pageable.getPageSize(), total);
+        String mode = total.toLowerCase(Locale.ROOT);
+        if (!mode.equals("exact") && !mode.equals("approximate") && !mode.equals("none")) {
+            throw new BadRequestException("total must be one of: exact, approximate, none");
+        }
+        Slice<PropertyListItem> slice = propertyService.search(criteria, pageable);
+        PagedResponse<PropertyListItem> paged = switch (mode) {
+            case "exact" -> PagedResponse.from(new PageImpl<>(slice.getContent(), pageable,
+                    propertyService.countMatching(criteria, false)));
+            case "approximate" -> PagedResponse.from(slice, propertyService.countMatching(criteria, true));
+            default -> PagedResponse.from(slice);
+        };
+        return ResponseEntity.ok(ApiResponse.ok(paged));
+    }
+
+    /**
+     * Faceted search answered from the in-memory index, without touching the database:
+     * matching count, top hits by price and sidebar counts per facet, e.g.
+     * GET /api/properties/facets?propertyType=APARTMENT&minBedrooms=2&limit=10&sort=asc
+     */
+    @GetMapping("/facets")
+    @SqlBudget(maxStatements = 0)
+    public ResponseEntity<ApiResponse<PropertyFacetResult>> facets(@ModelAttribute PropertyFacetQuery query) {
+        query.validate();
+        PropertyFacetResult result = searchIndex.query(query);
+        log.debug("🔎 Facet query {} -> {} matches in {} µs", query, result.total(), result.tookMicros());
+        return ResponseEntity.ok(ApiResponse.ok(result));
+    }
+
+    /**
+     * Full-text search over title, description, features and address (Italian
+     * and English), ranked by relevance. Served from the embedded text index.
+     * GET /api/properties/text-search?q=attico+terrazzo&page=0&size=20
+     */
+    @GetMapping("/text-search")
+    @SqlBudget(maxStatements = 0)
+    public ResponseEntity<ApiResponse<TextSearchResult>> textSearch(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        if (page < 0 || size < 1 || size > MAX_TEXT_PAGE_SIZE) {
+            throw new BadRequestException("page must be >= 0 and size between 1 and " + MAX_TEXT_PAGE_SIZE);
+        }
+        if (((long) page + 1) * size > MAX_TEXT_RESULTS) {
+            throw new BadRequestException("Only the first " + MAX_TEXT_RESULTS + " results can be paged through; refine the query");
+        }
+        TextSearchResult result = textIndex.search(q, page, size);
+        log.debug("📝 Text search '{}' -> {} hits in {} µs", q, result.total(), result.tookMicros());
+        return ResponseEntity.ok(ApiResponse.ok(result));
+    }
+
+    /**
+     * Autocomplete on title and location; the last word is matched as a prefix.
+     * GET /api/properties/suggest?q=villa+ma
+     */
+    @GetMapping("/suggest")
+    @SqlBudget(maxStatements = 0)
+    public ResponseEntity<ApiResponse<List<TextHit>>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        if (limit < 1 || limit > 20) {
+            throw new BadRequestException("limit must be between 1 and 20");
+        }
+        return ResponseEntity.ok(ApiResponse.ok(textIndex.suggest(q, limit)));
+    }
+
+    // ==================== Geospatial (in-memory index, no SQL) ====================
+
+    /**
+     * Properties inside the map viewport, e.g.
+     * GET /api/properties/geo/box?minLat=45.40&minLon=9.10&maxLat=45.52&maxLon=9.28&propertyType=APARTMENT&maxPrice=500000
+     */
+    @GetMapping("/geo/box")
+    @SqlBudget(maxStatements = 0)
+    public ResponseEntity<ApiResponse<GeoSearchResult>> withinBox(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @ModelAttribute PropertyGeoQuery query
+    ) {
+        requireCoordinates(minLat, minLon);
+        requireCoordinates(maxLat, maxLon);
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new BadRequestException("min coordinates must not exceed max coordinates");
+        }
+        query.validate(MAX_MAP_MARKERS);
+        return ResponseEntity.ok(ApiResponse.ok(searchIndex.withinBox(minLat, minLon, maxLat, maxLon, query)));
+    }
+
+    /**
+     * Properties within a radius, nearest first, e.g.
+     * GET /api/properties/geo/radius?lat=43.7696&lon=11.2558&radiusKm=5&status=AVAILABLE
+     */
+    @GetMapping("/geo/radius")
+    @SqlBudget(maxStatements = 0)
+    public ResponseEntity<ApiResponse<GeoSearchResult>> withinRadius(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam double radiusKm,
+            @ModelAttribute PropertyGeoQuery query
+    ) {
+        requireCoordinates(lat, lon);
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new BadRequestException("radiusKm must be greater than 0 and at most " + MAX_RADIUS_KM);
+        }
+        query.validate(MAX_MAP_MARKERS);
+        return ResponseEntity.ok(ApiResponse.ok(searchIndex.withinRadius(new GeoPoint(lat, lon), radiusKm, query)));
+    }
+
+    /**
+     * The k properties closest to a point, e.g. GET /api/properties/geo/nearest?lat=41.89&lon=12.48&k=5
+     */
+    @GetMapping("/geo/nearest")
+    @SqlBudget(maxStatements = 0)
+    public ResponseEntity<ApiResponse<GeoSearchResult>> nearest(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") int k,
+            @ModelAttribute PropertyGeoQuery query
+    ) {
+        requireCoordinates(lat, lon);
+        query.setLimit(k);
+        query.validate(MAX_NEAREST);
+        return ResponseEntity.ok(ApiResponse.ok(searchIndex.nearest(new GeoPoint(lat, lon), query)));
+    }
+
+    /**
+     * Backfill coordinates of existing properties from the local gazetteer.
+     * POST /api/properties/geocode
+     */
+    @PostMapping("/geocode")
+    public ResponseEntity<ApiResponse<GeocodeReport>> geocodeMissing() {
+        log.info("➡️ [POST] Geocoding properties without coordinates");
+        return ResponseEntity.ok(ApiResponse.ok(propertyService.geocodeMissing()));
+    }
+
+    private static void requireCoordinates(double lat, double lon) {
+        if (!GeoPoint.isValid(lat, lon)) {
+            throw new BadRequestException("Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+    }
+
+    /**
+     * Clients whose stated preferences this property fits, best match first.
+     * GET /api/properties/{id}/matching-clients?limit=20
+     */
+    @GetMapping("/{id}/matching-clients")
+    @SqlBudget(maxStatements = 0)
+    public ResponseEntity<ApiResponse<MatchResult<ClientMatch>>> matchingClients(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        if (limit < 1 || limit > MAX_MATCHES) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_MATCHES);
+        }
+        PropertyHit property = searchIndex.find(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Property not found with id: " + id));
+        return ResponseEntity.ok(ApiResponse.ok(clientMatchIndex.matching(property, limit)));
+    }
+
+    /**
+     * Full property view including images, loaded in a single query.
+     */
+    @GetMapping("/{id}/detail")
+    @SqlBudget(maxStatements = 1)
+    public ResponseEntity<ApiResponse<PropertyResponse>> getDetail(@PathVariable Long id) {
+        Property property = propertyService.findDetail(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Property not found with id: " + id));
+        return ResponseEntity.ok(ApiResponse.ok(toResponse(property)));
     }
 
     @GetMapping("/owner/{ownerId}")
-    public ResponseEntity<ApiResponse<List<Property>>> getByOwner(@PathVariable Long ownerId) {
+    @SqlBudget(maxStatements = 1)
+    public ResponseEntity<ApiResponse<List<PropertyListItem>>> getByOwner(@PathVariable Long ownerId) {
         return ResponseEntity.ok(ApiResponse.ok(propertyService.findByOwner(ownerId)));
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<ApiResponse<List<Property>>> getByCategory(@PathVariable Long categoryId) {
+    @SqlBudget(maxStatements = 1)
+    public ResponseEntity<ApiResponse<List<PropertyListItem>>> getByCategory(@PathVariable Long categoryId) {
         return ResponseEntity.ok(ApiResponse.ok(propertyService.findByCategory(categoryId)));
     }
 
     @GetMapping("/price")
-    public ResponseEntity<ApiResponse<List<Property>>> getByPriceRange(
+    @SqlBudget(maxStatements = 1)
+    public ResponseEntity<ApiResponse<List<PropertyListItem>>> getByPriceRange(
             @RequestParam Double min,
             @RequestParam Double max
     ) {
         return ResponseEntity.ok(ApiResponse.ok(propertyService.findByPriceRange(min, max)));
     }
 
+    /**
+     * Bulk import from a CSV or JSON file; runs in the background.
+     * POST /api/properties/import, then poll GET /api/imports/{jobId}
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ImportReport>> importFile(@RequestParam("file") MultipartFile file) throws IOException {
+        ImportReport report = propertyService.importProperties(file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.ok(report));
+    }
+
+    @Override
+    protected Object toExportView(Property entity) {
+        return toResponse(entity);
+    }
+
     private Property toEntity(PropertyRequest dto) {
         Property entity = new Property();
         entity.setTitle(dto.getTitle());
         entity.setLocation(dto.getLocation());
         entity.setAddress(dto.getAddress());
+        entity.setLatitude(dto.getLatitude());
+        entity.setLongitude(dto.getLongitude());
         entity.setPrice(dto.getPrice());
         entity.setSize(dto.getSize());
         entity.setDescription(dto.getDescription());
@@ -93,6 +366,8 @@ public class PropertyController extends BaseController<Property, Long> {
                 .title(entity.getTitle())
                 .location(entity.getLocation())
                 .address(entity.getAddress())
+                .latitude(entity.getLatitude())
+                .longitude(entity.getLongitude())
                 .price(entity.getPrice())
                 .size(entity.getSize())
                 .description(entity.getDescription())
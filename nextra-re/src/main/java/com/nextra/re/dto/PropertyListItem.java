@@ -0,0 +1,33 @@
+package com.nextra.re.dto;
+
+import com.nextra.re.persistence.model.PropertyStatus;
+import com.nextra.re.persistence.model.PropertyType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Read model for property listings, filled by a JPQL constructor expression
+ * (see PropertyRepository) so a page of results is a single SELECT with the
+ * owner and category names joined in. Use PropertyResponse for the detail view.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyListItem {
+    private Long id;
+    private String title;
+    private String location;
+    private BigDecimal price;
+    private Double size;
+    private PropertyType propertyType;
+    private PropertyStatus status;
+    private String mainImage;
+
+    private Long ownerId;
+    private String ownerName;
+    private Long categoryId;
+    private String categoryName;
+}
@@ -2,6 +2,8 @@ package com.nextra.re.dto;
 
 import com.nextra.re.persistence.model.PropertyStatus;
 import com.nextra.re.persistence.model.PropertyType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -19,6 +21,14 @@ public class PropertyRequest {
 
     private String address;
 
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
     @NotNull(message = "Price cannot be null")
     @Positive(message = "Price must be greater than zero")
     private BigDecimal price;
@@ -15,6 +15,8 @@ public class PropertyResponse {
     private String title;
     private String location;
     private String address;
+    private Double latitude;
+    private Double longitude;
     private BigDecimal price;
     private Double size;
     private String description;
@@ -0,0 +1,55 @@
+package com.nextra.re.dto;
+
+import com.nextra.core.common.exceptions.BadRequestException;
+import com.nextra.re.persistence.model.PropertyStatus;
+import com.nextra.re.persistence.model.PropertyType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Filters for GET /api/properties/search, bound from query parameters.
+ * Every field is optional and all given ones must match (AND); list fields
+ * match any of their values, e.g. {@code ?propertyType=APARTMENT,VILLA&minBedrooms=2}.
+ * Ranges are inclusive.
+ */
+@Data
+@NoArgsConstructor
+public class PropertySearchCriteria {
+    private List<PropertyType> propertyType;
+    private List<PropertyStatus> status;
+
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+
+    private Double minSize;
+    private Double maxSize;
+
+    private Integer minBedrooms;
+    private Integer maxBedrooms;
+
+    private Integer minBathrooms;
+
+    /** Case-insensitive substring of the location. */
+    private String location;
+
+    private Long ownerId;
+    private Long categoryId;
+
+    /**
+     * Reject inverted ranges up front instead of silently returning nothing.
+     */
+    public void validate() {
+        checkRange("Price", minPrice, maxPrice);
+        checkRange("Size", minSize, maxSize);
+        checkRange("Bedrooms", minBedrooms, maxBedrooms);
+    }
+
+    private static <C extends Comparable<C>> void checkRange(String name, C min, C max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new BadRequestException("min" + name + " must not be greater than max" + name);
+        }
+    }
+}
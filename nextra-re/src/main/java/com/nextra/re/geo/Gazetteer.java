@@ -0,0 +1,102 @@
+package com.nextra.re.geo;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline geocoder backed by a local place-name file
+ * ({@code geo.gazetteer.location}, default the bundled list of Italian
+ * municipalities and localities).
+ *
+ * File format: UTF-8 CSV with a header, {@code name,latitude,longitude[,alternate names separated by |]}.
+ * Names are matched case- and accent-insensitively. A location or address is
+ * resolved by trying the whole text first, then each comma-separated part
+ * from the last (usually the town) to the first.
+ */
+@Slf4j
+@Component
+public class Gazetteer {
+
+    @Value("${geo.gazetteer.location:classpath:geo/gazetteer-it.csv}")
+    private Resource source;
+
+    private final Map<String, GeoPoint> places = new HashMap<>();
+
+    @PostConstruct
+    public void load() throws IOException {
+        if (!source.exists()) {
+            log.warn("⚠️ Gazetteer {} not found, geocoding disabled", source);
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8))) {
+            String line = reader.readLine(); // header
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",", -1);
+                try {
+                    GeoPoint point = new GeoPoint(Double.parseDouble(columns[1].trim()), Double.parseDouble(columns[2].trim()));
+                    places.putIfAbsent(normalize(columns[0]), point);
+                    if (columns.length > 3 && !columns[3].isBlank()) {
+                        for (String alternate : columns[3].split("\\|")) {
+                            places.putIfAbsent(normalize(alternate), point);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("⚠️ Skipping gazetteer line {}: {}", lineNumber, line);
+                }
+            }
+        }
+        log.info("🗺️ Gazetteer loaded: {} place names from {}", places.size(), source);
+    }
+
+    public Optional<GeoPoint> lookup(String place) {
+        if (place == null || place.isBlank()) {
+            return Optional.empty();
+        }
+        GeoPoint whole = places.get(normalize(place));
+        if (whole != null) {
+            return Optional.of(whole);
+        }
+        String[] parts = place.split(",");
+        for (int i = parts.length - 1; i >= 0; i--) {
+            GeoPoint point = places.get(normalize(parts[i]));
+            if (point != null) {
+                return Optional.of(point);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Coordinates for a property: its location first, then its address.
+     */
+    public Optional<GeoPoint> geocode(String location, String address) {
+        return lookup(location).or(() -> lookup(address));
+    }
+
+    public int size() {
+        return places.size();
+    }
+
+    public static String normalize(String name) {
+        String folded = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return folded.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim();
+    }
+}
@@ -0,0 +1,7 @@
+package com.nextra.re.geo;
+
+/**
+ * A property still missing coordinates (see PropertyRepository#findGeocodeCandidates).
+ */
+public record GeocodeCandidate(Long id, String location, String address) {
+}
@@ -0,0 +1,10 @@
+package com.nextra.re.geo;
+
+import java.util.List;
+
+/**
+ * Outcome of a geocoding backfill; {@code unmatchedSamples} lists up to 20
+ * distinct locations the gazetteer did not know, to extend it with.
+ */
+public record GeocodeReport(int scanned, int geocoded, int unmatched, List<String> unmatchedSamples) {
+}
@@ -4,6 +4,7 @@ import com.nextra.core.persistence.model.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -16,7 +17,19 @@ import java.util.List;
 @ToString(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "properties")
+// Composite indexes for /api/properties/search: equality columns first, the
+// range/sort column last; (price, id) and (size_sqm, id) also back keyset
+// scrolling on those sorts. Existing Postgres databases:
+// docker/postgres/migrations/002_property_search_indexes.sql, 004_keyset_sort_indexes.sql
+@Table(name = "properties", indexes = {
+        @Index(name = "idx_properties_type_status_price", columnList = "property_type, status, price"),
+        @Index(name = "idx_properties_status_price", columnList = "status, price"),
+        @Index(name = "idx_properties_status_bedrooms", columnList = "status, bedrooms"),
+        @Index(name = "idx_properties_price_id", columnList = "price, id"),
+        @Index(name = "idx_properties_size_id", columnList = "size_sqm, id"),
+        @Index(name = "idx_properties_account_id", columnList = "account_id"),
+        @Index(name = "idx_properties_category_id", columnList = "category_id")
+})
 public class Property extends BaseEntity {
 
     @Column(nullable = false)
@@ -26,6 +39,11 @@ public class Property extends BaseEntity {
 
     private String address;
 
+    // WGS84, filled from the gazetteer when not given (see PropertyServiceImpl)
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(precision = 15, scale = 2)
     private BigDecimal price;
 
@@ -59,6 +77,7 @@ public class Property extends BaseEntity {
     private String features;
 
     @ElementCollection(fetch = FetchType.EAGER)
+    @BatchSize(size = 500)
     @CollectionTable(name = "property_images", joinColumns = @JoinColumn(name = "property_id"))
     @Column(name = "image_url", length = 500)
     @Builder.Default
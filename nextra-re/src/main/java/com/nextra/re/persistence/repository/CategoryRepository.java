@@ -2,9 +2,24 @@ package com.nextra.re.persistence.repository;
 
 import com.nextra.core.persistence.repository.BaseRepository;
 import com.nextra.re.persistence.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CategoryRepository extends BaseRepository<Category, Long> {
     boolean existsByName(String name);
+
+    /**
+     * Categories rarely change and are listed on most pages, so the result
+     * list is kept in the query cache.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT e FROM Category e WHERE e.deleted = false")
+    List<Category> findAllActive();
 }
@@ -2,11 +2,19 @@ package com.nextra.re.persistence.repository;
 
 import com.nextra.core.persistence.repository.BaseRepository;
 import com.nextra.re.persistence.model.Client;
+import com.nextra.re.search.ClientPreferenceRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClientRepository extends BaseRepository<Client, Long> {
@@ -15,8 +23,39 @@ public interface ClientRepository extends BaseRepository<Client, Long> {
 
     Optional<Client> findByFiscalId(String fiscalId);
 
-    // simple budget-range helpers (may be adapted to real matching logic)
-    List<Client> findByPreferredBudgetMinGreaterThanEqual(BigDecimal min);
+    /**
+     * Clients with a stated budget that overlaps [min, max]; a missing bound is open-ended.
+     */
+    @Query("SELECT c FROM Client c " +
+            "WHERE (c.preferredBudgetMin IS NOT NULL OR c.preferredBudgetMax IS NOT NULL) " +
+            "AND (c.preferredBudgetMin IS NULL OR c.preferredBudgetMin <= :max) " +
+            "AND (c.preferredBudgetMax IS NULL OR c.preferredBudgetMax >= :min) " +
+            "ORDER BY c.id")
+    List<Client> findByBudgetOverlapping(@Param("min") BigDecimal min, @Param("max") BigDecimal max);
 
-    List<Client> findByPreferredBudgetMaxLessThanEqual(BigDecimal max);
+    // 🔹 Export stream with the assigned agent joined in (see ClientServiceImpl#openStream)
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Client c LEFT JOIN FETCH c.assignedAgent WHERE c.deleted = false ORDER BY c.id")
+    Stream<Client> streamForExport();
+
+    // 🔹 Feed for the in-memory matching index (see ClientMatchIndex)
+
+    String PREFERENCE_ROW = "SELECT new com.nextra.re.search.ClientPreferenceRow(" +
+            "c.id, c.name, c.email, c.phone, c.preferredBudgetMin, c.preferredBudgetMax, " +
+            "c.preferredLocations, c.preferredPropertyTypes, c.preferredSizeMin, c.preferredSizeMax, c.deleted) " +
+            "FROM Client c";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(PREFERENCE_ROW + " WHERE c.deleted = false")
+    Stream<ClientPreferenceRow> streamPreferenceRows();
+
+    /**
+     * Preference columns for the given ids, soft-deleted rows included so callers can drop them.
+     */
+    @Query(PREFERENCE_ROW + " WHERE c.id IN :ids")
+    List<ClientPreferenceRow> findPreferenceRows(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
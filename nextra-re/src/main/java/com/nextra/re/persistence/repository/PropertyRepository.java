@@ -1,17 +1,123 @@
 package com.nextra.re.persistence.repository;
 
 import com.nextra.core.persistence.repository.BaseRepository;
+import com.nextra.re.dto.PropertyListItem;
+import com.nextra.re.geo.GeocodeCandidate;
 import com.nextra.re.persistence.model.Property;
+import com.nextra.re.search.PropertyIndexRow;
+import com.nextra.re.search.PropertyTextRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PropertyRepository extends BaseRepository<Property, Long> {
+public interface PropertyRepository extends BaseRepository<Property, Long>, JpaSpecificationExecutor<Property> {
 
-    List<Property> findByOwnerId(Long accountId);
+    String LIST_ITEM = "SELECT new com.nextra.re.dto.PropertyListItem(" +
+            "p.id, p.title, p.location, p.price, p.size, p.propertyType, p.status, p.mainImage, " +
+            "o.id, o.name, c.id, c.name) " +
+            "FROM Property p LEFT JOIN p.owner o LEFT JOIN p.category c " +
+            "WHERE p.deleted = false";
 
-    List<Property> findByCategoryId(Long categoryId);
+    // 🔹 Listing projections: one SELECT per call, no image rows, no proxies
 
-    List<Property> findByPriceBetween(Double min, Double max);
+    @Query(LIST_ITEM)
+    Slice<PropertyListItem> findListItems(Pageable pageable);
+
+    @Query(value = LIST_ITEM, countQuery = "SELECT COUNT(p) FROM Property p WHERE p.deleted = false")
+    Page<PropertyListItem> findListItemPage(Pageable pageable);
+
+    @Query(LIST_ITEM + " AND o.id = :ownerId ORDER BY p.id")
+    List<PropertyListItem> findListItemsByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query(LIST_ITEM + " AND c.id = :categoryId ORDER BY p.id")
+    List<PropertyListItem> findListItemsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(LIST_ITEM + " AND p.price BETWEEN :min AND :max ORDER BY p.price, p.id")
+    List<PropertyListItem> findListItemsByPriceBetween(@Param("min") BigDecimal min, @Param("max") BigDecimal max);
+
+    // 🔹 Export stream: owner, category and images in the same query (see PropertyServiceImpl#openStream,
+    //    which reads soft-deleted rows with native SQL)
+
+    String EXPORT = "SELECT p FROM Property p " +
+            "LEFT JOIN FETCH p.owner LEFT JOIN FETCH p.category LEFT JOIN FETCH p.images";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORT + " WHERE p.deleted = false ORDER BY p.id")
+    Stream<Property> streamForExport();
+
+    // 🔹 Feeds for the in-memory search indexes (see PropertySearchIndex, PropertyTextIndex)
+
+    String INDEX_ROW = "SELECT new com.nextra.re.search.PropertyIndexRow(" +
+            "p.id, p.title, p.location, p.price, p.size, p.bedrooms, p.propertyType, p.status, " +
+            "p.latitude, p.longitude, p.deleted) " +
+            "FROM Property p";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(INDEX_ROW + " WHERE p.deleted = false")
+    Stream<PropertyIndexRow> streamIndexRows();
+
+    /**
+     * Current index columns for the given ids, soft-deleted rows included so callers can drop them.
+     */
+    @Query(INDEX_ROW + " WHERE p.id IN :ids")
+    List<PropertyIndexRow> findIndexRows(@Param("ids") Collection<Long> ids);
+
+    String TEXT_ROW = "SELECT new com.nextra.re.search.PropertyTextRow(" +
+            "p.id, p.title, p.description, p.features, p.address, p.location, p.deleted) " +
+            "FROM Property p";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TEXT_ROW + " WHERE p.deleted = false")
+    Stream<PropertyTextRow> streamTextRows();
+
+    /**
+     * Text fields for the given ids, soft-deleted rows included (see PropertyTextIndex).
+     */
+    @Query(TEXT_ROW + " WHERE p.id IN :ids")
+    List<PropertyTextRow> findTextRows(@Param("ids") Collection<Long> ids);
+
+    // 🔹 Geocoding backfill
+
+    /**
+     * Next active properties without coordinates, in id order after {@code afterId}.
+     */
+    @Query("SELECT new com.nextra.re.geo.GeocodeCandidate(p.id, p.location, p.address) FROM Property p " +
+            "WHERE p.deleted = false AND (p.latitude IS NULL OR p.longitude IS NULL) AND p.id > :afterId " +
+            "ORDER BY p.id")
+    List<GeocodeCandidate> findGeocodeCandidates(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Set the same coordinates on many rows at once (properties in one town share a point).
+     */
+    @Modifying
+    @Query("UPDATE Property p SET p.latitude = :latitude, p.longitude = :longitude WHERE p.id IN :ids")
+    int setCoordinates(@Param("ids") Collection<Long> ids,
+                       @Param("latitude") double latitude,
+                       @Param("longitude") double longitude);
+
+    /**
+     * Detail view: the property with owner, category and images in one query.
+     */
+    @Query("SELECT DISTINCT p FROM Property p " +
+            "LEFT JOIN FETCH p.owner LEFT JOIN FETCH p.category LEFT JOIN FETCH p.images " +
+            "WHERE p.id = :id")
+    Optional<Property> findDetailById(@Param("id") Long id);
 }
@@ -0,0 +1,107 @@
+package com.nextra.re.persistence.repository;
+
+import com.nextra.re.dto.PropertySearchCriteria;
+import com.nextra.re.persistence.model.Property;
+import com.nextra.re.persistence.model.PropertyStatus;
+import com.nextra.re.persistence.model.PropertyType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Composable predicates for property search. Each factory returns null when
+ * its argument is empty, so {@link #matching} only adds what was asked for and
+ * the resulting WHERE clause stays index-friendly (equality/IN first, ranges
+ * on plain columns).
+ */
+public final class PropertySpecifications {
+
+    private PropertySpecifications() { }
+
+    /**
+     * AND of every filter set in {@code criteria}, always restricted to active rows.
+     */
+    public static Specification<Property> matching(PropertySearchCriteria criteria) {
+        List<Specification<Property>> specs = new ArrayList<>();
+        specs.add(active());
+        specs.add(typeIn(criteria.getPropertyType()));
+        specs.add(statusIn(criteria.getStatus()));
+        specs.add(ownedBy(criteria.getOwnerId()));
+        specs.add(inCategory(criteria.getCategoryId()));
+        specs.add(priceBetween(criteria.getMinPrice(), criteria.getMaxPrice()));
+        specs.add(sizeBetween(criteria.getMinSize(), criteria.getMaxSize()));
+        specs.add(bedroomsBetween(criteria.getMinBedrooms(), criteria.getMaxBedrooms()));
+        specs.add(minBathrooms(criteria.getMinBathrooms()));
+        specs.add(locationContains(criteria.getLocation()));
+        specs.removeIf(Objects::isNull);
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Property> active() {
+        return (root, query, cb) -> cb.isFalse(root.get("deleted"));
+    }
+
+    public static Specification<Property> typeIn(Collection<PropertyType> types) {
+        return types == null || types.isEmpty() ? null : (root, query, cb) -> root.get("propertyType").in(types);
+    }
+
+    public static Specification<Property> statusIn(Collection<PropertyStatus> statuses) {
+        return statuses == null || statuses.isEmpty() ? null : (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Property> ownedBy(Long ownerId) {
+        // owner.id is the FK column itself, no join needed
+        return ownerId == null ? null : (root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Property> inCategory(Long categoryId) {
+        return categoryId == null ? null : (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<Property> priceBetween(BigDecimal min, BigDecimal max) {
+        return between("price", min, max);
+    }
+
+    public static Specification<Property> sizeBetween(Double min, Double max) {
+        return between("size", min, max);
+    }
+
+    public static Specification<Property> bedroomsBetween(Integer min, Integer max) {
+        return between("bedrooms", min, max);
+    }
+
+    public static Specification<Property> minBathrooms(Integer min) {
+        return between("bathrooms", min, null);
+    }
+
+    public static Specification<Property> locationContains(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(location.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("location")), pattern, '\\');
+    }
+
+    private static <C extends Comparable<? super C>> Specification<Property> between(String attribute, C min, C max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (min != null && max != null) {
+                return cb.between(root.get(attribute), min, max);
+            }
+            return min != null
+                    ? cb.greaterThanOrEqualTo(root.get(attribute), min)
+                    : cb.lessThanOrEqualTo(root.get(attribute), max);
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
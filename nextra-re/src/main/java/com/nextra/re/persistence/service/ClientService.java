@@ -1,9 +1,13 @@
 // java
 package com.nextra.re.persistence.service;
 
+import com.nextra.core.importer.ImportReport;
 import com.nextra.core.persistence.service.BaseService;
 import com.nextra.re.persistence.model.Client;
 
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
@@ -11,6 +15,15 @@ import java.util.Optional;
 public interface ClientService extends BaseService<Client, Long> {
     List<Client> findByAssignedAgent(Long accountId);
     Optional<Client> findByFiscalId(String fiscalId);
-    List<Client> findByPreferredBudgetMinGreaterThanEqual(BigDecimal min);
-    List<Client> findByPreferredBudgetMaxLessThanEqual(BigDecimal max);
+
+    /**
+     * Clients whose stated budget overlaps [min, max], each once, by id.
+     */
+    List<Client> findByBudgetOverlapping(BigDecimal min, BigDecimal max);
+
+    /**
+     * Start a background import of clients from a CSV or JSON upload.
+     * Columns follow ClientRequest (assignedAgentId for the agent).
+     */
+    ImportReport importClients(MultipartFile file) throws IOException;
 }
\ No newline at end of file
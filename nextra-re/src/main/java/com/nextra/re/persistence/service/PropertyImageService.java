@@ -7,11 +7,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Service for managing property images.
@@ -27,43 +32,89 @@ public class PropertyImageService {
     
     private final StorageService storageService;
     private final PropertyService propertyService;
+    private final TransactionTemplate transactionTemplate;
     
     /**
      * Upload images for a property
      * 
+     * Files are written concurrently on virtual threads with no transaction
+     * open; the resulting URLs are then attached to the property in one short
+     * transaction. If any write or the final commit fails, the files already
+     * written are removed again.
+     * 
      * @param propertyId The property ID
      * @param files The image files to upload
      * @param setAsMain If true, the first image will be set as the main image
      * @return List of uploaded image URLs
      * @throws IOException if upload fails
      */
-    @Transactional
     public List<String> uploadImages(Long propertyId, List<MultipartFile> files, boolean setAsMain) throws IOException {
+        for (MultipartFile file : files) {
+            validateImageFile(file);
+        }
+        
         Property property = propertyService.findById(propertyId)
                 .orElseThrow(() -> new IllegalArgumentException("Property not found: " + propertyId));
+        checkImageLimit(property, files.size());
         
-        // Check total images limit
-        int currentImageCount = property.getImages() != null ? property.getImages().size() : 0;
-        if (currentImageCount + files.size() > MAX_IMAGES_PER_PROPERTY) {
-            throw new IllegalArgumentException(
-                    String.format("Cannot upload %d images. Maximum %d images per property allowed (current: %d)",
-                            files.size(), MAX_IMAGES_PER_PROPERTY, currentImageCount));
+        List<StorageResult> stored = storeConcurrently(files);
+        List<String> uploadedUrls = stored.stream().map(StorageResult::getPublicUrl).toList();
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> attachImages(propertyId, uploadedUrls, setAsMain));
+        } catch (RuntimeException e) {
+            log.warn("Failed to attach {} images to property {}, removing uploaded files", stored.size(), propertyId);
+            deleteStored(stored);
+            throw e;
         }
         
-        List<String> uploadedUrls = new ArrayList<>();
+        return uploadedUrls;
+    }
+    
+    /**
+     * Write all files in parallel, one virtual thread each. Results keep the
+     * order of the input list. On any failure the successful writes are undone.
+     */
+    private List<StorageResult> storeConcurrently(List<MultipartFile> files) throws IOException {
+        List<Future<StorageResult>> futures = new ArrayList<>(files.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (MultipartFile file : files) {
+                futures.add(executor.submit(() -> storageService.uploadFile(file, PROPERTY_IMAGES_FOLDER)));
+            }
+        }
         
-        for (MultipartFile file : files) {
-            // Validate image file
-            validateImageFile(file);
-            
-            // Upload to storage
-            StorageResult result = storageService.uploadFile(file, PROPERTY_IMAGES_FOLDER);
-            uploadedUrls.add(result.getPublicUrl());
-            
-            log.info("Uploaded image for property {}: {}", propertyId, result.getPublicUrl());
+        List<StorageResult> stored = new ArrayList<>(files.size());
+        Throwable failure = null;
+        for (Future<StorageResult> future : futures) {
+            try {
+                stored.add(future.get());
+            } catch (ExecutionException e) {
+                failure = failure == null ? e.getCause() : failure;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = failure == null ? e : failure;
+            }
         }
         
-        // Update property with new image URLs
+        if (failure != null) {
+            deleteStored(stored);
+            if (failure instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Image upload failed: " + failure.getMessage(), failure);
+        }
+        return stored;
+    }
+    
+    /**
+     * Attach uploaded URLs to the property. Runs inside the commit transaction,
+     * so the image limit is re-checked against the current row.
+     */
+    private void attachImages(Long propertyId, List<String> uploadedUrls, boolean setAsMain) {
+        Property property = propertyService.findById(propertyId)
+                .orElseThrow(() -> new IllegalArgumentException("Property not found: " + propertyId));
+        checkImageLimit(property, uploadedUrls.size());
+        
         if (property.getImages() == null) {
             property.setImages(new ArrayList<>());
         }
@@ -75,8 +126,23 @@ public class PropertyImageService {
         }
         
         propertyService.save(property);
-        
-        return uploadedUrls;
+    }
+    
+    private void checkImageLimit(Property property, int newImages) {
+        int currentImageCount = property.getImages() != null ? property.getImages().size() : 0;
+        if (currentImageCount + newImages > MAX_IMAGES_PER_PROPERTY) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot upload %d images. Maximum %d images per property allowed (current: %d)",
+                            newImages, MAX_IMAGES_PER_PROPERTY, currentImageCount));
+        }
+    }
+    
+    private void deleteStored(List<StorageResult> stored) {
+        for (StorageResult result : stored) {
+            if (!storageService.deleteFile(result.getFileId())) {
+                log.warn("Could not clean up uploaded file {}", result.getFileId());
+            }
+        }
     }
     
     /**
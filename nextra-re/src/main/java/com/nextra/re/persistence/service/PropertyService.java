@@ -1,12 +1,63 @@
 package com.nextra.re.persistence.service;
 
+import com.nextra.core.importer.ImportReport;
 import com.nextra.core.persistence.service.BaseService;
+import com.nextra.re.dto.PropertyListItem;
+import com.nextra.re.dto.PropertySearchCriteria;
+import com.nextra.re.geo.GeocodeReport;
 import com.nextra.re.persistence.model.Property;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 public interface PropertyService extends BaseService<Property, Long> {
-    List<Property> findByOwner(Long ownerId);
-    List<Property> findByCategory(Long categoryId);
-    List<Property> findByPriceRange(Double min, Double max);
+    List<PropertyListItem> findByOwner(Long ownerId);
+    List<PropertyListItem> findByCategory(Long categoryId);
+    List<PropertyListItem> findByPriceRange(Double min, Double max);
+
+    /**
+     * Listing page without a count query.
+     */
+    Slice<PropertyListItem> findListItems(Pageable pageable);
+
+    /**
+     * Listing page with an exact total (one extra count query).
+     */
+    Page<PropertyListItem> findListItemPage(Pageable pageable);
+
+    /**
+     * Listing items matching all given filters, as one SELECT (no count query).
+     * Sortable by id, title, price, size, bedrooms, createdAt; id breaks ties.
+     */
+    Slice<PropertyListItem> search(PropertySearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Number of properties matching {@code criteria}.
+     *
+     * @param approximate serve a cached count (see BaseServiceImpl#approximateCount)
+     */
+    long countMatching(PropertySearchCriteria criteria, boolean approximate);
+
+    /**
+     * Property with owner, category and images loaded in a single query.
+     */
+    Optional<Property> findDetail(Long id);
+
+    /**
+     * Fill latitude/longitude of existing properties from the local gazetteer,
+     * matching their location, then their address. Rows that already have
+     * coordinates are left alone.
+     */
+    GeocodeReport geocodeMissing();
+
+    /**
+     * Start a background import of properties from a CSV or JSON upload.
+     * Columns follow PropertyRequest (ownerId/categoryId for relations, images separated by "|").
+     */
+    ImportReport importProperties(MultipartFile file) throws IOException;
 }
@@ -1,26 +1,43 @@
 // java
 package com.nextra.re.persistence.service.impl;
 
+import com.nextra.core.common.exceptions.BadRequestException;
+import com.nextra.core.importer.ImportReport;
+import com.nextra.core.importer.ImportService;
 import com.nextra.core.persistence.service.impl.BaseServiceImpl;
+import com.nextra.re.persistence.model.Account;
 import com.nextra.re.persistence.model.Category;
 import com.nextra.re.persistence.model.Client;
+import com.nextra.re.persistence.repository.AccountRepository;
 import com.nextra.re.persistence.repository.ClientRepository;
 import com.nextra.re.persistence.service.ClientService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ClientServiceImpl extends BaseServiceImpl<Client, Long> implements ClientService {
 
     private final ClientRepository clientRepository;
+    private final AccountRepository accountRepository;
+    private final ImportService importService;
 
-    public ClientServiceImpl(ClientRepository clientRepository) {
+    public ClientServiceImpl(ClientRepository clientRepository,
+                             AccountRepository accountRepository,
+                             ImportService importService) {
         this.clientRepository = clientRepository;
+        this.accountRepository = accountRepository;
+        this.importService = importService;
         this.repository = clientRepository;
     }
 
@@ -35,13 +52,63 @@ public class ClientServiceImpl extends BaseServiceImpl<Client, Long> implements
         return clientRepository.findByFiscalId(fiscalId);
     }
 
+    /**
+     * Exports read the assigned agent (see ClientController#toExportView).
+     */
     @Override
-    public List<Client> findByPreferredBudgetMinGreaterThanEqual(BigDecimal min) {
-        return clientRepository.findByPreferredBudgetMinGreaterThanEqual(min);
+    protected Stream<Client> openStream(boolean includeDeleted) {
+        if (!includeDeleted) {
+            return clientRepository.streamForExport();
+        }
+        return streamIncludingDeleted("""
+                SELECT {c.*}, {a.*}
+                FROM clients c
+                LEFT JOIN accounts a ON a.id = c.assigned_agent_id
+                """, "c", query -> query.addFetch("a", "c", "assignedAgent"));
     }
 
     @Override
-    public List<Client> findByPreferredBudgetMaxLessThanEqual(BigDecimal max) {
-        return clientRepository.findByPreferredBudgetMaxLessThanEqual(max);
+    @Transactional(readOnly = true)
+    public List<Client> findByBudgetOverlapping(BigDecimal min, BigDecimal max) {
+        if (min.compareTo(max) > 0) {
+            throw new BadRequestException("min must not be greater than max");
+        }
+        return clientRepository.findByBudgetOverlapping(min, max);
     }
-}
\ No newline at end of file
+
+    /**
+     * Agent ids are checked against a set loaded once up front and attached
+     * as references, so no row triggers a lookup. Duplicate fiscal ids are
+     * reported as row errors by the database constraint.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportReport importClients(MultipartFile file) throws IOException {
+        Set<Long> accountIds = new HashSet<>(accountRepository.findAllActiveIds());
+
+        return importService.submit("Client", file, row -> {
+            Client entity = new Client();
+            entity.setName(row.require("name"));
+            entity.setEmail(row.get("email"));
+            entity.setPhone(row.get("phone"));
+            entity.setFiscalId(row.get("fiscalId"));
+            entity.setAddress(row.get("address"));
+            entity.setPreferredBudgetMin(row.getDecimal("preferredBudgetMin"));
+            entity.setPreferredBudgetMax(row.getDecimal("preferredBudgetMax"));
+            entity.setPreferredLocations(row.get("preferredLocations"));
+            entity.setPreferredPropertyTypes(row.get("preferredPropertyTypes"));
+            entity.setPreferredSizeMin(row.getDouble("preferredSizeMin"));
+            entity.setPreferredSizeMax(row.getDouble("preferredSizeMax"));
+            entity.setNotes(row.get("notes"));
+
+            Long agentId = row.getLong("assignedAgentId");
+            if (agentId != null) {
+                if (!accountIds.contains(agentId)) {
+                    throw new IllegalArgumentException("Unknown assignedAgentId: " + agentId);
+                }
+                entity.setAssignedAgent(entityManager.getReference(Account.class, agentId));
+            }
+            return entity;
+        });
+    }
+}
@@ -1,35 +1,333 @@
 package com.nextra.re.persistence.service.impl;
 
+import com.nextra.core.common.exceptions.BadRequestException;
+import com.nextra.core.importer.ImportReport;
+import com.nextra.core.importer.ImportService;
+import com.nextra.core.persistence.event.EntityChangeEvent;
+import com.nextra.re.dto.PropertyListItem;
+import com.nextra.re.dto.PropertySearchCriteria;
+import com.nextra.re.geo.Gazetteer;
+import com.nextra.re.geo.GeoPoint;
+import com.nextra.re.geo.GeocodeCandidate;
+import com.nextra.re.geo.GeocodeReport;
+import com.nextra.re.persistence.model.Account;
+import com.nextra.re.persistence.model.Category;
 import com.nextra.re.persistence.model.Property;
+import com.nextra.re.persistence.model.PropertyStatus;
+import com.nextra.re.persistence.model.PropertyType;
+import com.nextra.re.persistence.repository.AccountRepository;
+import com.nextra.re.persistence.repository.CategoryRepository;
 import com.nextra.re.persistence.repository.PropertyRepository;
+import com.nextra.re.persistence.repository.PropertySpecifications;
 import com.nextra.re.persistence.service.PropertyService;
 import com.nextra.core.persistence.service.impl.BaseServiceImpl;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 public class PropertyServiceImpl extends BaseServiceImpl<Property, Long> implements PropertyService {
 
+    private static final int GEOCODE_CHUNK = 1000;
+
+    // columns the search may sort on (see the indexes on Property for the common ones)
+    private static final List<String> SEARCH_SORTS = List.of("id", "title", "price", "size", "bedrooms", "createdAt");
+
     private final PropertyRepository propertyRepository;
+    private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+    private final ImportService importService;
+    private final Gazetteer gazetteer;
+    private final TransactionTemplate transactionTemplate;
 
-    public PropertyServiceImpl(PropertyRepository propertyRepository) {
+    public PropertyServiceImpl(PropertyRepository propertyRepository,
+                               AccountRepository accountRepository,
+                               CategoryRepository categoryRepository,
+                               ImportService importService,
+                               Gazetteer gazetteer,
+                               TransactionTemplate transactionTemplate) {
         this.propertyRepository = propertyRepository;
+        this.accountRepository = accountRepository;
+        this.categoryRepository = categoryRepository;
+        this.importService = importService;
+        this.gazetteer = gazetteer;
+        this.transactionTemplate = transactionTemplate;
         this.repository = propertyRepository;
     }
 
     @Override
-    public List<Property> findByOwner(Long ownerId) {
-        return propertyRepository.findByOwnerId(ownerId);
+    public Property save(Property entity) {
+        fillCoordinates(entity);
+        return super.save(entity);
+    }
+
+    @Override
+    public Property update(Long id, Property entity) {
+        fillCoordinates(entity);
+        return super.update(id, entity);
+    }
+
+    /**
+     * Exports read owner, category and images (see PropertyController#toExportView).
+     */
+    @Override
+    protected Stream<Property> openStream(boolean includeDeleted) {
+        if (!includeDeleted) {
+            return propertyRepository.streamForExport();
+        }
+        return streamIncludingDeleted("""
+                SELECT {p.*}, {o.*}, {c.*}
+                FROM properties p
+                LEFT JOIN accounts o ON o.id = p.account_id
+                LEFT JOIN categories c ON c.id = p.category_id
+                """, "p", query -> {
+                    query.addFetch("o", "p", "owner");
+                    query.addFetch("c", "p", "category");
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PropertyListItem> findByOwner(Long ownerId) {
+        return propertyRepository.findListItemsByOwnerId(ownerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PropertyListItem> findByCategory(Long categoryId) {
+        return propertyRepository.findListItemsByCategoryId(categoryId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PropertyListItem> findByPriceRange(Double min, Double max) {
+        return propertyRepository.findListItemsByPriceBetween(BigDecimal.valueOf(min), BigDecimal.valueOf(max));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<PropertyListItem> findListItems(Pageable pageable) {
+        return propertyRepository.findListItems(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PropertyListItem> findListItemPage(Pageable pageable) {
+        return propertyRepository.findListItemPage(pageable);
+    }
+
+    /**
+     * The filters come from {@link PropertySpecifications}; the SELECT list is
+     * the same as PropertyRepository.LIST_ITEM, so a page is one query with
+     * owner and category names joined in.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<PropertyListItem> search(PropertySearchCriteria criteria, Pageable pageable) {
+        criteria.validate();
+        log.debug("🔎 Searching properties: {} ({})", criteria, pageable);
+        Specification<Property> spec = PropertySpecifications.matching(criteria);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PropertyListItem> query = cb.createQuery(PropertyListItem.class);
+        Root<Property> p = query.from(Property.class);
+        Join<Property, Account> o = p.join("owner", JoinType.LEFT);
+        Join<Property, Category> c = p.join("category", JoinType.LEFT);
+
+        query.select(cb.construct(PropertyListItem.class,
+                        p.get("id"), p.get("title"), p.get("location"), p.get("price"), p.get("size"),
+                        p.get("propertyType"), p.get("status"), p.get("mainImage"),
+                        o.get("id"), o.get("name"), c.get("id"), c.get("name")))
+                .where(spec.toPredicate(p, query, cb))
+                .orderBy(searchOrder(pageable.getSort(), p, cb));
+
+        TypedQuery<PropertyListItem> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize() + 1);
+        }
+        List<PropertyListItem> rows = typed.getResultList();
+
+        boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+        List<PropertyListItem> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countMatching(PropertySearchCriteria criteria, boolean approximate) {
+        criteria.validate();
+        Specification<Property> spec = PropertySpecifications.matching(criteria);
+        return approximate
+                ? approximateCount(criteria.toString(), () -> propertyRepository.count(spec))
+                : propertyRepository.count(spec);
     }
 
+    private List<Order> searchOrder(Sort sort, Root<Property> p, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            if (!SEARCH_SORTS.contains(order.getProperty())) {
+                throw new BadRequestException("Cannot sort by: " + order.getProperty()
+                        + " (allowed: " + String.join(", ", SEARCH_SORTS) + ")");
+            }
+            hasId |= order.getProperty().equals("id");
+            orders.add(order.isAscending() ? cb.asc(p.get(order.getProperty())) : cb.desc(p.get(order.getProperty())));
+        }
+        if (!hasId) {
+            orders.add(cb.asc(p.get("id"))); // stable pages when sort values tie
+        }
+        return orders;
+    }
+
+    /**
+     * Walks the candidates in id order, GEOCODE_CHUNK at a time, and writes
+     * one UPDATE per distinct point. Each chunk commits in its own short
+     * transaction, so a large backfill neither holds locks to the end nor
+     * loses finished chunks when a later one fails. The bulk UPDATEs bypass
+     * JPA callbacks, so the change is reported for the search indexes explicitly.
+     */
     @Override
-    public List<Property> findByCategory(Long categoryId) {
-        return propertyRepository.findByCategoryId(categoryId);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public GeocodeReport geocodeMissing() {
+        int scanned = 0;
+        int geocoded = 0;
+        Set<String> unmatched = new LinkedHashSet<>();
+        int unmatchedCount = 0;
+        long afterId = 0;
+        List<GeocodeCandidate> chunk;
+        do {
+            chunk = propertyRepository.findGeocodeCandidates(afterId, PageRequest.of(0, GEOCODE_CHUNK));
+            Map<GeoPoint, List<Long>> byPoint = new LinkedHashMap<>();
+            for (GeocodeCandidate candidate : chunk) {
+                scanned++;
+                afterId = candidate.id();
+                Optional<GeoPoint> point = gazetteer.geocode(candidate.location(), candidate.address());
+                if (point.isPresent()) {
+                    byPoint.computeIfAbsent(point.get(), p -> new ArrayList<>()).add(candidate.id());
+                } else {
+                    unmatchedCount++;
+                    if (unmatched.size() < 20) {
+                        unmatched.add(candidate.location() != null ? candidate.location() : String.valueOf(candidate.address()));
+                    }
+                }
+            }
+            Integer updated = transactionTemplate.execute(status -> {
+                int rows = 0;
+                for (Map.Entry<GeoPoint, List<Long>> entry : byPoint.entrySet()) {
+                    rows += propertyRepository.setCoordinates(entry.getValue(),
+                            entry.getKey().latitude(), entry.getKey().longitude());
+                    changes.record(Property.class, EntityChangeEvent.Kind.SAVED, entry.getValue());
+                }
+                return rows;
+            });
+            geocoded += updated;
+        } while (chunk.size() == GEOCODE_CHUNK);
+
+        log.info("🗺️ Geocoded {} of {} properties ({} unmatched)", geocoded, scanned, unmatchedCount);
+        return new GeocodeReport(scanned, geocoded, unmatchedCount, List.copyOf(unmatched));
+    }
+
+    private void fillCoordinates(Property entity) {
+        if (entity.getLatitude() == null || entity.getLongitude() == null) {
+            gazetteer.geocode(entity.getLocation(), entity.getAddress()).ifPresent(point -> {
+                entity.setLatitude(point.latitude());
+                entity.setLongitude(point.longitude());
+            });
+        }
     }
 
     @Override
-    public List<Property> findByPriceRange(Double min, Double max) {
-        return propertyRepository.findByPriceBetween(min, max);
+    @Transactional(readOnly = true)
+    public Optional<Property> findDetail(Long id) {
+        return propertyRepository.findDetailById(id);
+    }
+
+    /**
+     * Owner and category ids are checked against sets loaded once up front and
+     * attached as references, so no row triggers a lookup.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportReport importProperties(MultipartFile file) throws IOException {
+        Set<Long> accountIds = new HashSet<>(accountRepository.findAllActiveIds());
+        Set<Long> categoryIds = new HashSet<>(categoryRepository.findAllActiveIds());
+
+        return importService.submit("Property", file, row -> {
+            BigDecimal price = row.getDecimal("price");
+            if (price == null || price.signum() <= 0) {
+                throw new IllegalArgumentException("'price' must be greater than zero");
+            }
+
+            Property entity = new Property();
+            entity.setTitle(row.require("title"));
+            entity.setLocation(row.get("location"));
+            entity.setAddress(row.get("address"));
+            entity.setLatitude(row.getDouble("latitude"));
+            entity.setLongitude(row.getDouble("longitude"));
+            if (entity.getLatitude() != null && entity.getLongitude() != null
+                    && !GeoPoint.isValid(entity.getLatitude(), entity.getLongitude())) {
+                throw new IllegalArgumentException("'latitude'/'longitude' out of range");
+            }
+            entity.setPrice(price);
+            entity.setSize(row.getDouble("size"));
+            entity.setDescription(row.get("description"));
+            entity.setPropertyType(row.getEnum("propertyType", PropertyType.class));
+            entity.setStatus(row.getEnum("status", PropertyStatus.class));
+            entity.setBedrooms(row.getInteger("bedrooms"));
+            entity.setBathrooms(row.getInteger("bathrooms"));
+            entity.setFloors(row.getInteger("floors"));
+            entity.setYearBuilt(row.getInteger("yearBuilt"));
+            entity.setFeatures(row.get("features"));
+            entity.setImages(new ArrayList<>(row.getList("images")));
+            entity.setMainImage(row.get("mainImage"));
+            fillCoordinates(entity);
+
+            Long ownerId = row.getLong("ownerId");
+            if (ownerId != null) {
+                if (!accountIds.contains(ownerId)) {
+                    throw new IllegalArgumentException("Unknown ownerId: " + ownerId);
+                }
+                entity.setOwner(entityManager.getReference(Account.class, ownerId));
+            }
+            Long categoryId = row.getLong("categoryId");
+            if (categoryId != null) {
+                if (!categoryIds.contains(categoryId)) {
+                    throw new IllegalArgumentException("Unknown categoryId: " + categoryId);
+                }
+                entity.setCategory(entityManager.getReference(Category.class, categoryId));
+            }
+            return entity;
+        });
     }
 }
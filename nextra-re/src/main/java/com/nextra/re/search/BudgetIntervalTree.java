@@ -0,0 +1,167 @@
+package com.nextra.re.search;
+
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * Interval tree over client budgets: a treap ordered by (lower bound, slot)
+ * where every node also carries the largest upper bound in its subtree.
+ * Insert and remove are O(log n) expected; finding the k intervals that
+ * overlap a price or a range is O(log n + k), pruning subtrees whose
+ * largest upper bound is below the query or whose lower bounds start above it.
+ *
+ * Not thread safe: {@link ClientMatchIndex} writes from a single thread and
+ * reads under its read lock.
+ */
+class BudgetIntervalTree {
+
+    private static final class Node {
+        final double lo;
+        final double hi;
+        final int slot;
+        final int priority;
+        double maxHi;
+        Node left;
+        Node right;
+
+        Node(double lo, double hi, int slot, int priority) {
+            this.lo = lo;
+            this.hi = hi;
+            this.slot = slot;
+            this.priority = priority;
+            this.maxHi = hi;
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom(0x5eed);
+    private Node root;
+    private int size;
+
+    void insert(int slot, double lo, double hi) {
+        root = insert(root, new Node(lo, hi, slot, random.nextInt()));
+        size++;
+    }
+
+    /** Removes the interval stored for {@code slot} with lower bound {@code lo}. */
+    void remove(int slot, double lo) {
+        int before = size;
+        root = remove(root, lo, slot);
+        if (size == before) {
+            throw new IllegalStateException("No budget interval for slot " + slot);
+        }
+    }
+
+    void clear() {
+        root = null;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Every slot whose interval contains {@code point}. */
+    void forEachContaining(double point, IntConsumer action) {
+        forEachOverlapping(root, point, point, action);
+    }
+
+    /** Every slot whose interval overlaps [lo, hi]. */
+    void forEachOverlapping(double lo, double hi, IntConsumer action) {
+        forEachOverlapping(root, lo, hi, action);
+    }
+
+    private static void forEachOverlapping(Node node, double lo, double hi, IntConsumer action) {
+        if (node == null || node.maxHi < lo) {
+            return;
+        }
+        forEachOverlapping(node.left, lo, hi, action);
+        if (node.lo > hi) {
+            return; // this node and its right subtree start after the query
+        }
+        if (node.hi >= lo) {
+            action.accept(node.slot);
+        }
+        forEachOverlapping(node.right, lo, hi, action);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.lo, added.slot, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node remove(Node node, double lo, int slot) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(lo, slot, node);
+        if (cmp == 0) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, lo, slot);
+        } else {
+            node.right = remove(node.right, lo, slot);
+        }
+        update(node);
+        return node;
+    }
+
+    /** Joins two treaps where every key of {@code a} sorts before every key of {@code b}. */
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        double maxHi = node.hi;
+        if (node.left != null) maxHi = Math.max(maxHi, node.left.maxHi);
+        if (node.right != null) maxHi = Math.max(maxHi, node.right.maxHi);
+        node.maxHi = maxHi;
+    }
+
+    private static int compare(double lo, int slot, Node node) {
+        int cmp = Double.compare(lo, node.lo);
+        return cmp != 0 ? cmp : Integer.compare(slot, node.slot);
+    }
+}
@@ -0,0 +1,14 @@
+package com.nextra.re.search;
+
+/**
+ * A client whose preferences a property fits; {@code score} is in [0, 1],
+ * see {@link ClientPreferences#score}.
+ */
+public record ClientMatch(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        double score
+) {
+}
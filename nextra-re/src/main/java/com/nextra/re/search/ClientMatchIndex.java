@@ -0,0 +1,236 @@
+package com.nextra.re.search;
+
+import com.nextra.re.persistence.model.Client;
+import com.nextra.re.persistence.model.PropertyType;
+import com.nextra.re.persistence.repository.ClientRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of client preferences, answering "which clients would want
+ * this property" without touching the database.
+ *
+ * Each client's preference columns are parsed once into
+ * {@link ClientPreferences} and given a slot. Stated budgets go into a
+ * {@link BudgetIntervalTree}, so the clients whose range contains a price
+ * come out in O(log n + k); property types and locations have bitmap
+ * posting lists, plus one list per dimension for clients without a
+ * preference there. A query ANDs the type and location lists, stabs the
+ * tree when those leave too many clients in, and scores the survivors with
+ * {@link ClientPreferences#score}.
+ *
+ * Follows client changes on the "client-match-index" thread, see
+ * {@link EntityChangeFollowingIndex}.
+ */
+@Component
+public class ClientMatchIndex extends EntityChangeFollowingIndex<ClientPreferenceRow> {
+
+    private static final int RELOAD_CHUNK = 1000;
+    /** Use the budget tree when type and location keep more than 1/n of the clients. */
+    private static final int TREE_SELECTIVITY = 4;
+    private static final PropertyType[] TYPES = PropertyType.values();
+
+    private final ClientRepository clientRepository;
+
+    // ---- parsed preferences by slot; a slot is in use iff its bit in 'live' is set ----
+    private final List<ClientPreferences> clients = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    private final BudgetIntervalTree budgets = new BudgetIntervalTree();
+    private final BitSet anyBudget = new BitSet();
+    private final BitSet[] byType = newBitSets(TYPES.length);
+    private final BitSet anyType = new BitSet();
+    private final Map<String, BitSet> byLocation = new HashMap<>();
+    private final BitSet anyLocation = new BitSet();
+
+    public ClientMatchIndex(ClientRepository clientRepository, PlatformTransactionManager transactionManager) {
+        super(Client.class, "client-match-index", RELOAD_CHUNK, transactionManager);
+        this.clientRepository = clientRepository;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The parsed preferences of a live client.
+     */
+    public Optional<ClientPreferences> find(long clientId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotById.get(clientId);
+            return slot == null ? Optional.empty() : Optional.of(clients.get(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Clients whose preferences the property fits, best score first, ties by id.
+     */
+    public MatchResult<ClientMatch> matching(PropertyHit property, int limit) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            double price = property.price() != null ? property.price().doubleValue() : Double.NaN;
+            double size = property.size() != null ? property.size() : Double.NaN;
+            Set<String> locationKeys = ClientPreferences.locationKeys(property.location());
+
+            BitSet candidates = (BitSet) anyType.clone();
+            if (property.propertyType() != null) {
+                candidates.or(byType[property.propertyType().ordinal()]);
+            }
+            BitSet locationFilter = (BitSet) anyLocation.clone();
+            for (String key : locationKeys) {
+                BitSet posting = byLocation.get(key);
+                if (posting != null) {
+                    locationFilter.or(posting);
+                }
+            }
+            candidates.and(locationFilter);
+            // a price typically falls in many budgets; stab the tree only when type and location
+            // leave most clients in, otherwise score() checks the budget of the few that are left
+            if (candidates.cardinality() > slotById.size() / TREE_SELECTIVITY) {
+                BitSet inBudget = (BitSet) anyBudget.clone();
+                if (!Double.isNaN(price)) {
+                    budgets.forEachContaining(price, inBudget::set);
+                }
+                candidates.and(inBudget);
+            }
+
+            TopScores top = new TopScores(limit);
+            int total = 0;
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                double score = clients.get(slot).score(price, size, property.propertyType(), locationKeys);
+                if (score != ClientPreferences.NO_MATCH) {
+                    total++;
+                    top.offer(slot, score, clients.get(slot).id());
+                }
+            }
+            double[] scores = new double[top.size()];
+            int[] slots = top.drainBestFirst(scores);
+            List<ClientMatch> hits = new ArrayList<>(slots.length);
+            for (int i = 0; i < slots.length; i++) {
+                ClientPreferences client = clients.get(slots[i]);
+                hits.add(new ClientMatch(client.id(), client.name(), client.email(), client.phone(),
+                        Math.round(scores[i] * 1000) / 1000.0));
+            }
+            return new MatchResult<>(total, hits, (System.nanoTime() - start) / 1_000);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Writes (client-match-index thread only) ====================
+
+    @Override
+    protected Stream<ClientPreferenceRow> loadAll() {
+        return clientRepository.streamPreferenceRows();
+    }
+
+    @Override
+    protected List<ClientPreferenceRow> load(List<Long> ids) {
+        return clientRepository.findPreferenceRows(ids);
+    }
+
+    @Override
+    protected void upsert(ClientPreferenceRow row) {
+        // parse before touching any structure, so a row that fails leaves the index as it was
+        ClientPreferences client = ClientPreferences.parse(row);
+        Integer existing = slotById.get(row.id());
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            unindex(slot);
+        } else {
+            slot = live.nextClearBit(0);
+            slotById.put(row.id(), slot);
+            live.set(slot);
+        }
+        if (slot == clients.size()) {
+            clients.add(client);
+        } else {
+            clients.set(slot, client);
+        }
+
+        if (client.hasBudget()) {
+            budgets.insert(slot, client.budgetMin(), client.budgetMax());
+        } else {
+            anyBudget.set(slot);
+        }
+        if (client.types().isEmpty()) {
+            anyType.set(slot);
+        } else {
+            client.types().forEach(type -> byType[type.ordinal()].set(slot));
+        }
+        if (client.locations().isEmpty()) {
+            anyLocation.set(slot);
+        } else {
+            client.locations().forEach(key -> byLocation.computeIfAbsent(key, k -> new BitSet()).set(slot));
+        }
+    }
+
+    @Override
+    protected void remove(Long id) {
+        Integer slot = slotById.remove(id);
+        if (slot != null) {
+            unindex(slot);
+            live.clear(slot);
+            clients.set(slot, null);
+        }
+    }
+
+    /** Take the slot out of the tree and posting lists; the slot itself stays allocated. */
+    private void unindex(int slot) {
+        ClientPreferences client = clients.get(slot);
+        if (client.hasBudget()) {
+            budgets.remove(slot, client.budgetMin());
+        }
+        anyBudget.clear(slot);
+        anyType.clear(slot);
+        client.types().forEach(type -> byType[type.ordinal()].clear(slot));
+        anyLocation.clear(slot);
+        client.locations().forEach(key -> {
+            BitSet posting = byLocation.get(key);
+            posting.clear(slot);
+            if (posting.isEmpty()) {
+                byLocation.remove(key);
+            }
+        });
+    }
+
+    @Override
+    protected void clear() {
+        clients.clear();
+        live.clear();
+        slotById.clear();
+        budgets.clear();
+        anyBudget.clear();
+        Arrays.stream(byType).forEach(BitSet::clear);
+        anyType.clear();
+        byLocation.clear();
+        anyLocation.clear();
+    }
+
+    private static BitSet[] newBitSets(int count) {
+        BitSet[] sets = new BitSet[count];
+        Arrays.setAll(sets, i -> new BitSet());
+        return sets;
+    }
+}
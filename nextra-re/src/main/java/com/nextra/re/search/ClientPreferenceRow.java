@@ -0,0 +1,22 @@
+package com.nextra.re.search;
+
+import java.math.BigDecimal;
+
+/**
+ * The raw preference columns {@link ClientMatchIndex} keeps per client, read
+ * with a constructor expression (see ClientRepository#streamPreferenceRows).
+ */
+public record ClientPreferenceRow(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        BigDecimal preferredBudgetMin,
+        BigDecimal preferredBudgetMax,
+        String preferredLocations,
+        String preferredPropertyTypes,
+        Double preferredSizeMin,
+        Double preferredSizeMax,
+        boolean deleted
+) implements IndexedRow {
+}
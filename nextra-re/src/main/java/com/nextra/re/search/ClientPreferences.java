@@ -0,0 +1,167 @@
+package com.nextra.re.search;
+
+import com.nextra.re.geo.Gazetteer;
+import com.nextra.re.persistence.model.PropertyType;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A client's free-text preference columns parsed once into comparable form:
+ * budget and size as closed intervals (infinite where a bound is missing),
+ * locations as normalized place keys and property types as an enum set.
+ * An empty set or an unbounded interval means "no preference".
+ *
+ * {@link #score} is the single matching rule used in both directions
+ * (property to clients and client to properties).
+ */
+public record ClientPreferences(
+        long id,
+        String name,
+        String email,
+        String phone,
+        double budgetMin,
+        double budgetMax,
+        Set<String> locations,
+        Set<PropertyType> types,
+        double sizeMin,
+        double sizeMax
+) {
+
+    /** Returned by {@link #score} when the property does not fit a stated preference. */
+    public static final double NO_MATCH = -1;
+
+    private static final double BUDGET_WEIGHT = 0.4;
+    private static final double LOCATION_WEIGHT = 0.3;
+    private static final double TYPE_WEIGHT = 0.2;
+    private static final double SIZE_WEIGHT = 0.1;
+    private static final String SEPARATORS = "[,;|]";
+
+    public static ClientPreferences parse(ClientPreferenceRow row) {
+        double[] budget = interval(
+                row.preferredBudgetMin() != null ? row.preferredBudgetMin().doubleValue() : null,
+                row.preferredBudgetMax() != null ? row.preferredBudgetMax().doubleValue() : null);
+        double[] size = interval(row.preferredSizeMin(), row.preferredSizeMax());
+        return new ClientPreferences(row.id(), row.name(), row.email(), row.phone(),
+                budget[0], budget[1], parseLocations(row.preferredLocations()),
+                parseTypes(row.preferredPropertyTypes()), size[0], size[1]);
+    }
+
+    public boolean hasBudget() {
+        return budgetMin != Double.NEGATIVE_INFINITY || budgetMax != Double.POSITIVE_INFINITY;
+    }
+
+    public boolean hasSize() {
+        return sizeMin != Double.NEGATIVE_INFINITY || sizeMax != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * How well a property fits, from 0 (no stated preference, nothing to
+     * rank on) to 1, or {@link #NO_MATCH}. A stated preference needs the
+     * property value to be known and to fit; budget fit is graded by
+     * closeness to the middle of the range, the others count fully.
+     *
+     * @param price        NaN when unknown
+     * @param size         NaN when unknown
+     * @param locationKeys see {@link #locationKeys(String)}
+     */
+    public double score(double price, double size, PropertyType type, Set<String> locationKeys) {
+        double score = 0;
+        if (hasBudget()) {
+            if (!(price >= budgetMin && price <= budgetMax)) { // also rejects NaN
+                return NO_MATCH;
+            }
+            score += BUDGET_WEIGHT * budgetFit(price);
+        }
+        if (!locations.isEmpty()) {
+            if (Collections.disjoint(locations, locationKeys)) {
+                return NO_MATCH;
+            }
+            score += LOCATION_WEIGHT;
+        }
+        if (!types.isEmpty()) {
+            if (type == null || !types.contains(type)) {
+                return NO_MATCH;
+            }
+            score += TYPE_WEIGHT;
+        }
+        if (hasSize()) {
+            if (!(size >= sizeMin && size <= sizeMax)) {
+                return NO_MATCH;
+            }
+            score += SIZE_WEIGHT;
+        }
+        return score;
+    }
+
+    /**
+     * The keys a property location can be matched on: the whole value and
+     * each comma separated part, so "Brera, Milano" matches a client who
+     * asked for "Milano".
+     */
+    public static Set<String> locationKeys(String location) {
+        if (location == null || location.isBlank()) {
+            return Set.of();
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        addKey(keys, location);
+        for (String part : location.split(",")) {
+            addKey(keys, part);
+        }
+        return keys;
+    }
+
+    /** 1 at the middle of a bounded budget, falling to 0 at its edges; 0.5 for one-sided budgets. */
+    private double budgetFit(double price) {
+        if (Double.isInfinite(budgetMin) || Double.isInfinite(budgetMax)) {
+            return 0.5;
+        }
+        double halfWidth = (budgetMax - budgetMin) / 2;
+        return halfWidth == 0 ? 1 : 1 - Math.abs(price - (budgetMin + halfWidth)) / halfWidth;
+    }
+
+    /** [min, max] with missing bounds opened up; inverted bounds are swapped. */
+    private static double[] interval(Double min, Double max) {
+        double lo = min != null ? min : Double.NEGATIVE_INFINITY;
+        double hi = max != null ? max : Double.POSITIVE_INFINITY;
+        return lo <= hi ? new double[]{lo, hi} : new double[]{hi, lo};
+    }
+
+    private static Set<String> parseLocations(String value) {
+        if (value == null || value.isBlank()) {
+            return Set.of();
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (String token : value.split(SEPARATORS)) {
+            addKey(keys, token);
+        }
+        return Set.copyOf(keys);
+    }
+
+    /** Unknown type names are ignored rather than failing the whole client. */
+    private static Set<PropertyType> parseTypes(String value) {
+        if (value == null || value.isBlank()) {
+            return Set.of();
+        }
+        EnumSet<PropertyType> types = EnumSet.noneOf(PropertyType.class);
+        for (String token : value.split(SEPARATORS)) {
+            String name = token.trim().toUpperCase(Locale.ROOT);
+            for (PropertyType type : PropertyType.values()) {
+                if (type.name().equals(name)) {
+                    types.add(type);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(types);
+    }
+
+    private static void addKey(Set<String> keys, String place) {
+        String key = Gazetteer.normalize(place);
+        if (!key.isEmpty()) {
+            keys.add(key);
+        }
+    }
+}
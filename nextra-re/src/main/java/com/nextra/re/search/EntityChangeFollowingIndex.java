@@ -0,0 +1,184 @@
+package com.nextra.re.search;
+
+import com.nextra.core.persistence.event.EntityChangeEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Base of the in-memory indexes that follow one entity type.
+ *
+ * The index is loaded at startup and kept current from
+ * {@link EntityChangeEvent}s, which EntityChangePublisher publishes after
+ * commit. All writes run on a single thread in event order. Changed rows are
+ * reloaded by id in chunks, so the index lags commits by one small query. A
+ * failed update is logged and the index keeps serving: it is a cache, and
+ * {@link #rebuildAsync()} repairs it.
+ *
+ * Subclasses load rows and apply them through {@link #upsert}, {@link #remove}
+ * and {@link #clear}. These run inside {@link #write}, which by default holds
+ * the write side of {@link #lock}; readers take the read side.
+ *
+ * @param <R> the projection the index is built from
+ */
+@Slf4j
+public abstract class EntityChangeFollowingIndex<R extends IndexedRow> {
+
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Class<?> entityType;
+    private final String threadName;
+    private final int reloadChunk;
+    private final TransactionTemplate readOnlyTx;
+    private ExecutorService writer;
+
+    protected EntityChangeFollowingIndex(Class<?> entityType, String threadName, int reloadChunk,
+                                         PlatformTransactionManager transactionManager) {
+        this.entityType = entityType;
+        this.threadName = threadName;
+        this.reloadChunk = reloadChunk;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /** Every live and soft-deleted row; called in a read-only transaction. */
+    protected abstract Stream<R> loadAll();
+
+    /** The rows with these ids, soft-deleted ones included; called in a read-only transaction. */
+    protected abstract List<R> load(List<Long> ids);
+
+    protected abstract void upsert(R row);
+
+    protected abstract void remove(Long id);
+
+    protected abstract void clear();
+
+    /**
+     * Apply a batch of changes atomically for readers.
+     */
+    protected void write(Runnable changes) {
+        lock.writeLock().lock();
+        try {
+            changes.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PostConstruct
+    public void startWriter() {
+        writer = Executors.newSingleThreadExecutor(Thread.ofPlatform()
+                .name(threadName)
+                .daemon(true)
+                .factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            submitAndWait(this::rebuild);
+        } catch (IllegalStateException e) {
+            // serve an empty index rather than fail startup; rebuildAsync() can retry
+            log.error("❌ Could not build {}", getClass().getSimpleName(), e);
+        }
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.concerns(entityType)) {
+            writer.execute(() -> apply(event));
+        }
+    }
+
+    /**
+     * Blocks until every change received so far has been applied.
+     */
+    public void awaitPendingUpdates() {
+        submitAndWait(() -> { });
+    }
+
+    /**
+     * Reload the whole index from the database, e.g. after out-of-band SQL changes.
+     */
+    public void rebuildAsync() {
+        writer.execute(this::rebuild);
+    }
+
+    // ==================== Writes (writer thread only) ====================
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        List<R> loaded = readOnlyTx.execute(status -> {
+            try (Stream<R> stream = loadAll()) {
+                return stream.toList();
+            }
+        });
+        write(() -> {
+            clear();
+            loaded.forEach(this::upsert);
+        });
+        log.info("🗂 {} built: {} rows in {} ms",
+                getClass().getSimpleName(), loaded.size(), System.currentTimeMillis() - start);
+    }
+
+    private void apply(EntityChangeEvent event) {
+        try {
+            if (event.kind() == EntityChangeEvent.Kind.DELETED) {
+                write(() -> event.ids().forEach(this::remove));
+                return;
+            }
+            List<Long> ids = new ArrayList<>(event.ids());
+            for (int from = 0; from < ids.size(); from += reloadChunk) {
+                List<Long> chunk = ids.subList(from, Math.min(from + reloadChunk, ids.size()));
+                List<R> reloaded = readOnlyTx.execute(status -> load(chunk));
+                write(() -> applyReloaded(chunk, reloaded));
+            }
+            log.debug("🗂 {} applied {} {} rows", getClass().getSimpleName(), event.ids().size(), event.kind());
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to apply {} to {}", event, getClass().getSimpleName(), e);
+        }
+    }
+
+    private void applyReloaded(Collection<Long> requested, List<R> reloaded) {
+        Set<Long> missing = new HashSet<>(requested);
+        for (R row : reloaded) {
+            missing.remove(row.id());
+            if (row.deleted()) {
+                remove(row.id());
+            } else {
+                upsert(row);
+            }
+        }
+        missing.forEach(this::remove); // hard-deleted meanwhile
+    }
+
+    private void submitAndWait(Runnable task) {
+        try {
+            writer.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(getClass().getSimpleName() + " update failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.nextra.re.search;
+
+import com.nextra.re.geo.GeoPoint;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Spatial bucket index for {@link PropertySearchIndex}: row slots grouped by
+ * the cell of a fixed latitude/longitude grid their coordinates fall in.
+ * The grid has 2^13 columns and 2^12 rows, so a cell is about 4.9 x 4.9 km at
+ * the equator. Only non-empty cells are stored.
+ *
+ * Box queries visit the cells overlapping the box; callers check exact
+ * geometry on the candidates. Not thread-safe; guarded by the owning index's lock.
+ */
+final class GeoGrid {
+
+    static final int LON_BITS = 13;
+    static final int LAT_BITS = 12;
+    private static final int COLUMNS = 1 << LON_BITS;
+    private static final int ROWS = 1 << LAT_BITS;
+    static final double CELL_WIDTH_DEGREES = 360.0 / COLUMNS;
+    static final double CELL_HEIGHT_DEGREES = 180.0 / ROWS;
+
+    private final Map<Long, Bucket> cells = new HashMap<>();
+
+    void add(int slot, double latitude, double longitude) {
+        cells.computeIfAbsent(key(column(longitude), row(latitude)), k -> new Bucket()).add(slot);
+    }
+
+    void remove(int slot, double latitude, double longitude) {
+        long key = key(column(longitude), row(latitude));
+        Bucket bucket = cells.get(key);
+        if (bucket != null && bucket.remove(slot) && bucket.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    void clear() {
+        cells.clear();
+    }
+
+    /**
+     * Number of cells a box query would visit (used to decide whether a full scan is cheaper).
+     */
+    static long cellsIn(double minLat, double minLon, double maxLat, double maxLon) {
+        return (long) (row(maxLat) - row(minLat) + 1) * (column(maxLon) - column(minLon) + 1);
+    }
+
+    /**
+     * Every slot in the cells overlapping the box (a superset of the slots inside it).
+     */
+    void forEachInBox(double minLat, double minLon, double maxLat, double maxLon, IntConsumer action) {
+        for (int y = row(minLat); y <= row(maxLat); y++) {
+            for (int x = column(minLon); x <= column(maxLon); x++) {
+                visit(x, y, action);
+            }
+        }
+    }
+
+    /**
+     * Slots in the square ring of cells at Chebyshev distance {@code radius} around the given cell.
+     */
+    void forEachInRing(int centerColumn, int centerRow, int radius, IntConsumer action) {
+        for (int y = centerRow - radius; y <= centerRow + radius; y++) {
+            if (y < 0 || y >= ROWS) {
+                continue;
+            }
+            boolean edgeRow = y == centerRow - radius || y == centerRow + radius;
+            int step = edgeRow || radius == 0 ? 1 : 2 * radius;
+            for (int x = centerColumn - radius; x <= centerColumn + radius; x += step) {
+                visit(Math.floorMod(x, COLUMNS), y, action); // wraps around the antimeridian
+            }
+        }
+    }
+
+    /**
+     * Lower bound, in km, on the distance from a point in the center cell to any
+     * point outside the first {@code radius} rings around it.
+     */
+    static double ringClearanceKm(double latitude, int radius) {
+        double maxLatitude = Math.min(90, Math.abs(latitude) + (radius + 1) * CELL_HEIGHT_DEGREES);
+        double cellWidthKm = CELL_WIDTH_DEGREES * GeoPoint.KM_PER_DEGREE * Math.cos(Math.toRadians(maxLatitude));
+        double cellHeightKm = CELL_HEIGHT_DEGREES * GeoPoint.KM_PER_DEGREE;
+        return radius * Math.min(cellWidthKm, cellHeightKm);
+    }
+
+    static int column(double longitude) {
+        return Math.min(COLUMNS - 1, Math.max(0, (int) ((longitude + 180) / CELL_WIDTH_DEGREES)));
+    }
+
+    static int row(double latitude) {
+        return Math.min(ROWS - 1, Math.max(0, (int) ((latitude + 90) / CELL_HEIGHT_DEGREES)));
+    }
+
+    private void visit(int x, int y, IntConsumer action) {
+        Bucket bucket = cells.get(key(x, y));
+        if (bucket != null) {
+            for (int i = 0; i < bucket.size; i++) {
+                action.accept(bucket.slots[i]);
+            }
+        }
+    }
+
+    private static long key(int x, int y) {
+        return ((long) y << 32) | x;
+    }
+
+    /** Growable int list; order is irrelevant so removal swaps in the last element. */
+    private static final class Bucket {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
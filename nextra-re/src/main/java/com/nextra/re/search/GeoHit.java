@@ -0,0 +1,21 @@
+package com.nextra.re.search;
+
+import com.nextra.re.persistence.model.PropertyStatus;
+import com.nextra.re.persistence.model.PropertyType;
+
+import java.math.BigDecimal;
+
+/**
+ * A property on the map; {@code distanceKm} is set for radius and nearest queries.
+ */
+public record GeoHit(
+        Long id,
+        String title,
+        BigDecimal price,
+        PropertyType propertyType,
+        PropertyStatus status,
+        double latitude,
+        double longitude,
+        Double distanceKm
+) {
+}
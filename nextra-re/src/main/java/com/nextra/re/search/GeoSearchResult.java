@@ -0,0 +1,11 @@
+package com.nextra.re.search;
+
+import java.util.List;
+
+/**
+ * Spatial query result. {@code total} counts every match; when it exceeds the
+ * requested limit only the first {@code hits} are returned and {@code truncated} is set
+ * (a map client should zoom in or cluster).
+ */
+public record GeoSearchResult(int total, List<GeoHit> hits, boolean truncated, long tookMicros) {
+}
@@ -0,0 +1,12 @@
+package com.nextra.re.search;
+
+/**
+ * A row an {@link EntityChangeFollowingIndex} loads by id: the entity id and
+ * its soft-delete flag. Implemented by the projection records.
+ */
+public interface IndexedRow {
+
+    Long id();
+
+    boolean deleted();
+}
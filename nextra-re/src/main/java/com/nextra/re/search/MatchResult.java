@@ -0,0 +1,9 @@
+package com.nextra.re.search;
+
+import java.util.List;
+
+/**
+ * The best matches, highest score first. {@code total} counts every match.
+ */
+public record MatchResult<T>(int total, List<T> hits, long tookMicros) {
+}
@@ -0,0 +1,48 @@
+package com.nextra.re.search;
+
+import com.nextra.re.persistence.model.PropertyStatus;
+import com.nextra.re.persistence.model.PropertyType;
+import com.nextra.core.common.exceptions.BadRequestException;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Filters for GET /api/properties/facets. Type and status match any of their
+ * values; location is one exact (case-insensitive) location as returned in the
+ * "location" facet; ranges are inclusive.
+ */
+@Data
+@NoArgsConstructor
+public class PropertyFacetQuery {
+    private List<PropertyType> propertyType;
+    private List<PropertyStatus> status;
+    private String location;
+
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+
+    private Integer minBedrooms;
+    private Integer maxBedrooms;
+
+    /** Number of hits to return, cheapest first unless {@code sort=desc}. */
+    private int limit = 20;
+    private String sort = "asc";
+
+    public void validate() {
+        if (limit < 1 || limit > 200) {
+            throw new BadRequestException("limit must be between 1 and 200");
+        }
+        if (!"asc".equalsIgnoreCase(sort) && !"desc".equalsIgnoreCase(sort)) {
+            throw new BadRequestException("sort must be asc or desc");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new BadRequestException("minPrice must not be greater than maxPrice");
+        }
+        if (minBedrooms != null && maxBedrooms != null && minBedrooms > maxBedrooms) {
+            throw new BadRequestException("minBedrooms must not be greater than maxBedrooms");
+        }
+    }
+}
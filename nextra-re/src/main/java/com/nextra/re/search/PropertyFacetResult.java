@@ -0,0 +1,16 @@
+package com.nextra.re.search;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matching count, the top hits by price and, per facet, how many properties
+ * each value would match given the other active filters.
+ */
+public record PropertyFacetResult(
+        int total,
+        List<PropertyHit> hits,
+        Map<String, Map<String, Integer>> facets,
+        long tookMicros
+) {
+}
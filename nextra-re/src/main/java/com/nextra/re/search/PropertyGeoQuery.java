@@ -0,0 +1,34 @@
+package com.nextra.re.search;
+
+import com.nextra.core.common.exceptions.BadRequestException;
+import com.nextra.re.persistence.model.PropertyStatus;
+import com.nextra.re.persistence.model.PropertyType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Attribute filters combined with a spatial query (see PropertyController's /geo endpoints).
+ */
+@Data
+@NoArgsConstructor
+public class PropertyGeoQuery {
+    private List<PropertyType> propertyType;
+    private List<PropertyStatus> status;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+
+    /** Max hits returned (markers in a viewport, or k for nearest). */
+    private int limit = 200;
+
+    public void validate(int maxLimit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new BadRequestException("limit must be between 1 and " + maxLimit);
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new BadRequestException("minPrice must not be greater than maxPrice");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.nextra.re.search;
+
+import com.nextra.re.persistence.model.PropertyStatus;
+import com.nextra.re.persistence.model.PropertyType;
+
+import java.math.BigDecimal;
+
+/**
+ * A property as answered from the in-memory index; fetch
+ * /api/properties/{id}/detail for everything else.
+ */
+public record PropertyHit(
+        Long id,
+        String title,
+        String location,
+        BigDecimal price,
+        Double size,
+        Integer bedrooms,
+        PropertyType propertyType,
+        PropertyStatus status
+) {
+}
@@ -0,0 +1,25 @@
+package com.nextra.re.search;
+
+import com.nextra.re.persistence.model.PropertyStatus;
+import com.nextra.re.persistence.model.PropertyType;
+
+import java.math.BigDecimal;
+
+/**
+ * The columns {@link PropertySearchIndex} keeps per property, read with a
+ * constructor expression (see PropertyRepository#streamIndexRows).
+ */
+public record PropertyIndexRow(
+        Long id,
+        String title,
+        String location,
+        BigDecimal price,
+        Double size,
+        Integer bedrooms,
+        PropertyType propertyType,
+        PropertyStatus status,
+        Double latitude,
+        Double longitude,
+        boolean deleted
+) implements IndexedRow {
+}
@@ -0,0 +1,8 @@
+package com.nextra.re.search;
+
+/**
+ * A property fitting a client's preferences; {@code score} is in [0, 1],
+ * see {@link ClientPreferences#score}.
+ */
+public record PropertyMatch(PropertyHit property, double score) {
+}
@@ -0,0 +1,654 @@
+package com.nextra.re.search;
+
+import com.nextra.re.geo.GeoPoint;
+import com.nextra.re.persistence.model.Property;
+import com.nextra.re.persistence.model.PropertyStatus;
+import com.nextra.re.persistence.model.PropertyType;
+import com.nextra.re.persistence.repository.PropertyRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory, column-oriented copy of the searchable property fields, so
+ * faceted listing queries never reach the database.
+ *
+ * Each property occupies a row slot; its values live in primitive arrays
+ * (price as double, bedrooms as int, type/status/location as dictionary
+ * codes). Every facet value also has a bitmap posting list of the slots that
+ * carry it. A query ANDs the posting lists of the selected values (OR within a
+ * facet), scans the price column for the price range, and counts each facet by
+ * walking the rows matched by all <em>other</em> filters and tallying that
+ * facet's column. That gives multi-select sidebar counts without a GROUP BY
+ * per facet.
+ *
+ * {@link #matching} runs a client's parsed preferences against the same
+ * columns; {@link ClientMatchIndex} answers the opposite direction.
+ *
+ * Properties with coordinates are also bucketed in a {@link GeoGrid}, which
+ * answers radius, bounding-box and k-nearest queries combined with the same
+ * type/status/price filters.
+ *
+ * Follows property changes on the "search-index" thread, see
+ * {@link EntityChangeFollowingIndex}.
+ */
+@Component
+public class PropertySearchIndex extends EntityChangeFollowingIndex<PropertyIndexRow> {
+
+    private static final int NONE = -1;
+    private static final int LOCATION_FACET_LIMIT = 50;
+    private static final int RELOAD_CHUNK = 1000;
+    /** Above this many grid cells a box query scans the filtered rows instead. */
+    private static final long MAX_BOX_CELLS = 20_000;
+    /** Rings of cells (about 5 km each) a nearest query may widen to before scanning. */
+    private static final int MAX_RINGS = 100;
+    private static final PropertyType[] TYPES = PropertyType.values();
+    private static final PropertyStatus[] STATUSES = PropertyStatus.values();
+
+    private final PropertyRepository propertyRepository;
+
+    /** Upper bounds of the price bands shown in the "priceBand" facet. */
+    @Value("${search.index.price-bands:100000,200000,300000,500000,750000,1000000}")
+    private long[] priceBands;
+
+    // ---- columns, indexed by row slot; a slot is in use iff its bit in 'live' is set ----
+    private int capacity;
+    private int rows; // high-water mark of used slots
+    private long[] ids;
+    private String[] titles;
+    private double[] prices; // NaN when unknown
+    private double[] sizes; // NaN when unknown
+    private int[] bedrooms; // NONE when unknown
+    private int[] types;
+    private int[] statuses;
+    private int[] locations;
+    private int[] bands;
+    private double[] latitudes; // NaN when not geocoded
+    private double[] longitudes;
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    // ---- posting lists per facet value ----
+    private final BitSet[] byType = newBitSets(TYPES.length);
+    private final BitSet[] byStatus = newBitSets(STATUSES.length);
+    private final List<BitSet> byLocation = new ArrayList<>();
+    private final Map<Integer, BitSet> byBedrooms = new TreeMap<>();
+
+    private final GeoGrid grid = new GeoGrid();
+
+    // ---- location dictionary: normalized key -> code, code -> display value ----
+    private final Map<String, Integer> locationCodes = new HashMap<>();
+    private final List<String> locationNames = new ArrayList<>();
+    private final List<Set<String>> locationKeys = new ArrayList<>(); // by code, see ClientPreferences#locationKeys
+
+    public PropertySearchIndex(PropertyRepository propertyRepository, PlatformTransactionManager transactionManager) {
+        super(Property.class, "search-index", RELOAD_CHUNK, transactionManager);
+        this.propertyRepository = propertyRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        Arrays.sort(priceBands);
+        allocate(1024);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public PropertyFacetResult query(PropertyFacetQuery query) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            BitSet typeFilter = anyOf(byType, query.getPropertyType());
+            BitSet statusFilter = anyOf(byStatus, query.getStatus());
+            BitSet locationFilter = locationFilter(query.getLocation());
+            BitSet bedroomFilter = bedroomFilter(query.getMinBedrooms(), query.getMaxBedrooms());
+            BitSet priceFilter = priceFilter(query.getMinPrice(), query.getMaxPrice());
+            BitSet[] filters = {typeFilter, statusFilter, locationFilter, bedroomFilter, priceFilter};
+
+            BitSet matches = allExcept(filters, NONE);
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            facets.put("propertyType", enumFacet(allExcept(filters, 0), types, TYPES));
+            facets.put("status", enumFacet(allExcept(filters, 1), statuses, STATUSES));
+            facets.put("location", locationFacet(allExcept(filters, 2)));
+            facets.put("bedrooms", bedroomFacet(allExcept(filters, 3)));
+            facets.put("priceBand", priceBandFacet(allExcept(filters, 4)));
+
+            List<PropertyHit> hits = topByPrice(matches, query.getLimit(), "desc".equalsIgnoreCase(query.getSort()));
+            return new PropertyFacetResult(matches.cardinality(), hits, facets, (System.nanoTime() - start) / 1_000);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The indexed view of one property, if it is live.
+     */
+    public Optional<PropertyHit> find(long id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotById.get(id);
+            return slot == null ? Optional.empty() : Optional.of(hit(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Available properties fitting the client's preferences, best score first.
+     * Type, location and budget narrow the candidates through the posting
+     * lists and the price column; {@link ClientPreferences#score} settles the rest.
+     */
+    public MatchResult<PropertyMatch> matching(ClientPreferences client, int limit) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            BitSet candidates = (BitSet) byStatus[PropertyStatus.AVAILABLE.ordinal()].clone();
+            if (!client.types().isEmpty()) {
+                candidates.and(anyOf(byType, List.copyOf(client.types())));
+            }
+            if (!client.locations().isEmpty()) {
+                BitSet inLocations = new BitSet(rows);
+                for (int code = 0; code < locationKeys.size(); code++) {
+                    if (!Collections.disjoint(client.locations(), locationKeys.get(code))) {
+                        inLocations.or(byLocation.get(code));
+                    }
+                }
+                candidates.and(inLocations);
+            }
+            if (client.hasBudget()) {
+                candidates.and(priceFilter(client.budgetMin(), client.budgetMax()));
+            }
+
+            TopScores top = new TopScores(limit);
+            int total = 0;
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                double score = client.score(prices[slot], sizes[slot],
+                        types[slot] == NONE ? null : TYPES[types[slot]],
+                        locations[slot] == NONE ? Set.of() : locationKeys.get(locations[slot]));
+                if (score != ClientPreferences.NO_MATCH) {
+                    total++;
+                    top.offer(slot, score, ids[slot]);
+                }
+            }
+            double[] scores = new double[top.size()];
+            int[] slots = top.drainBestFirst(scores);
+            List<PropertyMatch> hits = new ArrayList<>(slots.length);
+            for (int i = 0; i < slots.length; i++) {
+                hits.add(new PropertyMatch(hit(slots[i]), Math.round(scores[i] * 1000) / 1000.0));
+            }
+            return new MatchResult<>(total, hits, (System.nanoTime() - start) / 1_000);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Spatial ====================
+
+    /**
+     * Matches inside the box, in id order. Boxes crossing the antimeridian are not supported.
+     */
+    public GeoSearchResult withinBox(double minLat, double minLon, double maxLat, double maxLon, PropertyGeoQuery query) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            BitSet allowed = geoFilter(query);
+            List<Integer> matches = new ArrayList<>();
+            forEachCandidate(minLat, minLon, maxLat, maxLon, allowed, slot -> {
+                if (latitudes[slot] >= minLat && latitudes[slot] <= maxLat
+                        && longitudes[slot] >= minLon && longitudes[slot] <= maxLon) {
+                    matches.add(slot);
+                }
+            });
+            matches.sort(Comparator.comparingLong((Integer slot) -> ids[slot]));
+            return geoResult(matches, null, query.getLimit(), start);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Matches within {@code radiusKm} of the center, nearest first.
+     */
+    public GeoSearchResult withinRadius(GeoPoint center, double radiusKm, PropertyGeoQuery query) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            BitSet allowed = geoFilter(query);
+            double dLat = radiusKm / GeoPoint.KM_PER_DEGREE;
+            double minLat = Math.max(-90, center.latitude() - dLat);
+            double maxLat = Math.min(90, center.latitude() + dLat);
+            double cos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+            double dLon = cos < 1e-6 ? 180 : radiusKm / (GeoPoint.KM_PER_DEGREE * cos);
+            double minLon = center.longitude() - dLon;
+            double maxLon = center.longitude() + dLon;
+            if (minLon < -180 || maxLon > 180) { // wraps: widen to the full longitude range
+                minLon = -180;
+                maxLon = 180;
+            }
+
+            Map<Integer, Double> distances = new HashMap<>();
+            forEachCandidate(minLat, minLon, maxLat, maxLon, allowed, slot -> {
+                double distance = center.distanceKm(latitudes[slot], longitudes[slot]);
+                if (distance <= radiusKm) {
+                    distances.put(slot, distance);
+                }
+            });
+            List<Integer> matches = new ArrayList<>(distances.keySet());
+            matches.sort(Comparator.comparingDouble((Integer slot) -> distances.get(slot)).thenComparingLong(slot -> ids[slot]));
+            return geoResult(matches, distances, query.getLimit(), start);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code query.limit} matches closest to the center. Widens ring by ring
+     * around the center cell and stops once no unvisited cell can hold a closer one.
+     */
+    public GeoSearchResult nearest(GeoPoint center, PropertyGeoQuery query) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            BitSet allowed = geoFilter(query);
+            int k = query.getLimit();
+            Map<Integer, Double> distances = new HashMap<>();
+            Comparator<Integer> farthestFirst = Comparator.comparingDouble((Integer slot) -> distances.get(slot))
+                    .thenComparingLong(slot -> ids[slot]).reversed();
+            PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1, farthestFirst);
+            IntConsumer offer = slot -> {
+                if (allowed.get(slot) && !distances.containsKey(slot)) {
+                    distances.put(slot, center.distanceKm(latitudes[slot], longitudes[slot]));
+                    heap.offer(slot);
+                    if (heap.size() > k) {
+                        distances.remove(heap.poll());
+                    }
+                }
+            };
+
+            int column = GeoGrid.column(center.longitude());
+            int row = GeoGrid.row(center.latitude());
+            boolean done = false;
+            for (int ring = 0; ring <= MAX_RINGS && !done; ring++) {
+                grid.forEachInRing(column, row, ring, offer);
+                done = heap.size() == k
+                        && distances.get(heap.peek()) <= GeoGrid.ringClearanceKm(center.latitude(), ring);
+            }
+            if (!done) { // sparse data: finish with a scan of the remaining rows
+                for (int slot = allowed.nextSetBit(0); slot >= 0; slot = allowed.nextSetBit(slot + 1)) {
+                    offer.accept(slot);
+                }
+            }
+
+            List<Integer> matches = new ArrayList<>(heap);
+            matches.sort(farthestFirst.reversed());
+            return geoResult(matches, distances, k, start);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Live, geocoded rows passing the attribute filters. */
+    private BitSet geoFilter(PropertyGeoQuery query) {
+        BitSet[] filters = {
+                anyOf(byType, query.getPropertyType()),
+                anyOf(byStatus, query.getStatus()),
+                priceFilter(query.getMinPrice(), query.getMaxPrice())};
+        BitSet allowed = allExcept(filters, NONE);
+        for (int slot = allowed.nextSetBit(0); slot >= 0; slot = allowed.nextSetBit(slot + 1)) {
+            if (Double.isNaN(latitudes[slot])) {
+                allowed.clear(slot);
+            }
+        }
+        return allowed;
+    }
+
+    /** Allowed slots in the grid cells overlapping the box, or all allowed slots for huge boxes. */
+    private void forEachCandidate(double minLat, double minLon, double maxLat, double maxLon,
+                                  BitSet allowed, IntConsumer action) {
+        if (GeoGrid.cellsIn(minLat, minLon, maxLat, maxLon) > MAX_BOX_CELLS) {
+            for (int slot = allowed.nextSetBit(0); slot >= 0; slot = allowed.nextSetBit(slot + 1)) {
+                action.accept(slot);
+            }
+        } else {
+            grid.forEachInBox(minLat, minLon, maxLat, maxLon, slot -> {
+                if (allowed.get(slot)) {
+                    action.accept(slot);
+                }
+            });
+        }
+    }
+
+    private GeoSearchResult geoResult(List<Integer> matches, Map<Integer, Double> distances, int limit, long start) {
+        List<GeoHit> hits = matches.stream().limit(limit).map(slot -> new GeoHit(
+                ids[slot],
+                titles[slot],
+                Double.isNaN(prices[slot]) ? null : BigDecimal.valueOf(prices[slot]),
+                types[slot] == NONE ? null : TYPES[types[slot]],
+                statuses[slot] == NONE ? null : STATUSES[statuses[slot]],
+                latitudes[slot],
+                longitudes[slot],
+                distances == null ? null : Math.round(distances.get(slot) * 1000) / 1000.0)).toList();
+        return new GeoSearchResult(matches.size(), hits, matches.size() > limit, (System.nanoTime() - start) / 1_000);
+    }
+
+    // ==================== Filters ====================
+
+    private <E extends Enum<E>> BitSet anyOf(BitSet[] postings, List<E> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        BitSet union = new BitSet(rows);
+        for (E value : values) {
+            union.or(postings[value.ordinal()]);
+        }
+        return union;
+    }
+
+    private BitSet locationFilter(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        Integer code = locationCodes.get(normalize(location));
+        return code == null ? new BitSet() : (BitSet) byLocation.get(code).clone();
+    }
+
+    private BitSet bedroomFilter(Integer min, Integer max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        BitSet union = new BitSet(rows);
+        byBedrooms.forEach((value, posting) -> {
+            if ((min == null || value >= min) && (max == null || value <= max)) {
+                union.or(posting);
+            }
+        });
+        return union;
+    }
+
+    private BitSet priceFilter(BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return priceFilter(min != null ? min.doubleValue() : Double.NEGATIVE_INFINITY,
+                max != null ? max.doubleValue() : Double.POSITIVE_INFINITY);
+    }
+
+    /** Range scan over the price column. */
+    private BitSet priceFilter(double lo, double hi) {
+        BitSet matches = new BitSet(rows);
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            double price = prices[slot];
+            if (price >= lo && price <= hi) { // false for NaN
+                matches.set(slot);
+            }
+        }
+        return matches;
+    }
+
+    /** Live rows matching every filter except the one at {@code skip}. */
+    private BitSet allExcept(BitSet[] filters, int skip) {
+        BitSet result = (BitSet) live.clone();
+        for (int i = 0; i < filters.length; i++) {
+            if (i != skip && filters[i] != null) {
+                result.and(filters[i]);
+            }
+        }
+        return result;
+    }
+
+    // ==================== Facets ====================
+
+    private <E extends Enum<E>> Map<String, Integer> enumFacet(BitSet rowsToCount, int[] column, E[] values) {
+        int[] counts = tally(rowsToCount, column, values.length);
+        Map<String, Integer> facet = new LinkedHashMap<>();
+        for (E value : values) {
+            facet.put(value.name(), counts[value.ordinal()]);
+        }
+        return facet;
+    }
+
+    private Map<String, Integer> locationFacet(BitSet rowsToCount) {
+        int[] counts = tally(rowsToCount, locations, locationNames.size());
+        Map<String, Integer> facet = new LinkedHashMap<>();
+        List<Integer> codes = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                codes.add(code);
+            }
+        }
+        codes.sort(Comparator.comparingInt((Integer code) -> counts[code]).reversed()
+                .thenComparing(locationNames::get));
+        codes.stream().limit(LOCATION_FACET_LIMIT)
+                .forEach(code -> facet.put(locationNames.get(code), counts[code]));
+        return facet;
+    }
+
+    private Map<String, Integer> bedroomFacet(BitSet rowsToCount) {
+        Map<Integer, Integer> counts = new TreeMap<>();
+        for (int slot = rowsToCount.nextSetBit(0); slot >= 0; slot = rowsToCount.nextSetBit(slot + 1)) {
+            if (bedrooms[slot] != NONE) {
+                counts.merge(bedrooms[slot], 1, Integer::sum);
+            }
+        }
+        Map<String, Integer> facet = new LinkedHashMap<>();
+        counts.forEach((value, count) -> facet.put(String.valueOf(value), count));
+        return facet;
+    }
+
+    private Map<String, Integer> priceBandFacet(BitSet rowsToCount) {
+        int[] counts = tally(rowsToCount, bands, priceBands.length + 1);
+        Map<String, Integer> facet = new LinkedHashMap<>();
+        for (int band = 0; band <= priceBands.length; band++) {
+            facet.put(bandLabel(band), counts[band]);
+        }
+        return facet;
+    }
+
+    private static int[] tally(BitSet rowsToCount, int[] column, int cardinality) {
+        int[] counts = new int[cardinality];
+        for (int slot = rowsToCount.nextSetBit(0); slot >= 0; slot = rowsToCount.nextSetBit(slot + 1)) {
+            int code = column[slot];
+            if (code != NONE) {
+                counts[code]++;
+            }
+        }
+        return counts;
+    }
+
+    private String bandLabel(int band) {
+        if (band == priceBands.length) {
+            return priceBands[band - 1] + "+";
+        }
+        return (band == 0 ? 0 : priceBands[band - 1]) + "-" + priceBands[band];
+    }
+
+    private int bandOf(double price) {
+        if (Double.isNaN(price)) {
+            return NONE;
+        }
+        int band = 0;
+        while (band < priceBands.length && price >= priceBands[band]) {
+            band++;
+        }
+        return band;
+    }
+
+    // ==================== Top N ====================
+
+    /** Bounded heap over the matching rows; unknown prices sort last, ties by id. */
+    private List<PropertyHit> topByPrice(BitSet matches, int limit, boolean descending) {
+        Comparator<Integer> order = Comparator.comparingDouble((Integer slot) -> Double.isNaN(prices[slot]) ? 1 : 0)
+                .thenComparingDouble(slot -> descending ? -prices[slot] : prices[slot])
+                .thenComparingLong(slot -> ids[slot]);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, order.reversed());
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            heap.offer(slot);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Integer> slots = new ArrayList<>(heap);
+        slots.sort(order);
+        return slots.stream().map(this::hit).toList();
+    }
+
+    private PropertyHit hit(int slot) {
+        return new PropertyHit(
+                ids[slot],
+                titles[slot],
+                locations[slot] == NONE ? null : locationNames.get(locations[slot]),
+                Double.isNaN(prices[slot]) ? null : BigDecimal.valueOf(prices[slot]),
+                Double.isNaN(sizes[slot]) ? null : sizes[slot],
+                bedrooms[slot] == NONE ? null : bedrooms[slot],
+                types[slot] == NONE ? null : TYPES[types[slot]],
+                statuses[slot] == NONE ? null : STATUSES[statuses[slot]]);
+    }
+
+    // ==================== Writes (search-index thread only) ====================
+
+    @Override
+    protected Stream<PropertyIndexRow> loadAll() {
+        return propertyRepository.streamIndexRows();
+    }
+
+    @Override
+    protected List<PropertyIndexRow> load(List<Long> ids) {
+        return propertyRepository.findIndexRows(ids);
+    }
+
+    @Override
+    protected void upsert(PropertyIndexRow row) {
+        Integer existing = slotById.get(row.id());
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            unindex(slot);
+        } else {
+            slot = live.nextClearBit(0);
+            if (slot >= capacity) {
+                allocate(capacity * 2);
+            }
+            rows = Math.max(rows, slot + 1);
+            slotById.put(row.id(), slot);
+            live.set(slot);
+        }
+
+        ids[slot] = row.id();
+        titles[slot] = row.title();
+        prices[slot] = row.price() != null ? row.price().doubleValue() : Double.NaN;
+        sizes[slot] = row.size() != null ? row.size() : Double.NaN;
+        bedrooms[slot] = row.bedrooms() != null ? row.bedrooms() : NONE;
+        types[slot] = row.propertyType() != null ? row.propertyType().ordinal() : NONE;
+        statuses[slot] = row.status() != null ? row.status().ordinal() : NONE;
+        locations[slot] = locationCode(row.location());
+        bands[slot] = bandOf(prices[slot]);
+        boolean geocoded = row.latitude() != null && row.longitude() != null
+                && GeoPoint.isValid(row.latitude(), row.longitude());
+        latitudes[slot] = geocoded ? row.latitude() : Double.NaN;
+        longitudes[slot] = geocoded ? row.longitude() : Double.NaN;
+
+        if (types[slot] != NONE) byType[types[slot]].set(slot);
+        if (statuses[slot] != NONE) byStatus[statuses[slot]].set(slot);
+        if (locations[slot] != NONE) byLocation.get(locations[slot]).set(slot);
+        if (bedrooms[slot] != NONE) byBedrooms.computeIfAbsent(bedrooms[slot], b -> new BitSet()).set(slot);
+        if (geocoded) grid.add(slot, latitudes[slot], longitudes[slot]);
+    }
+
+    @Override
+    protected void remove(Long id) {
+        Integer slot = slotById.remove(id);
+        if (slot != null) {
+            unindex(slot);
+            live.clear(slot);
+            titles[slot] = null;
+        }
+    }
+
+    /** Clear the slot's posting list bits; the slot itself stays allocated. */
+    private void unindex(int slot) {
+        if (types[slot] != NONE) byType[types[slot]].clear(slot);
+        if (statuses[slot] != NONE) byStatus[statuses[slot]].clear(slot);
+        if (locations[slot] != NONE) byLocation.get(locations[slot]).clear(slot);
+        if (bedrooms[slot] != NONE) byBedrooms.get(bedrooms[slot]).clear(slot);
+        if (!Double.isNaN(latitudes[slot])) grid.remove(slot, latitudes[slot], longitudes[slot]);
+    }
+
+    private int locationCode(String location) {
+        if (location == null || location.isBlank()) {
+            return NONE;
+        }
+        return locationCodes.computeIfAbsent(normalize(location), key -> {
+            locationNames.add(location.trim());
+            locationKeys.add(ClientPreferences.locationKeys(location));
+            byLocation.add(new BitSet());
+            return locationNames.size() - 1;
+        });
+    }
+
+    @Override
+    protected void clear() {
+        live.clear();
+        slotById.clear();
+        rows = 0;
+        Arrays.stream(byType).forEach(BitSet::clear);
+        Arrays.stream(byStatus).forEach(BitSet::clear);
+        byLocation.clear();
+        byBedrooms.clear();
+        grid.clear();
+        locationCodes.clear();
+        locationNames.clear();
+        locationKeys.clear();
+        Arrays.fill(titles, null);
+    }
+
+    private void allocate(int newCapacity) {
+        ids = ids == null ? new long[newCapacity] : Arrays.copyOf(ids, newCapacity);
+        titles = titles == null ? new String[newCapacity] : Arrays.copyOf(titles, newCapacity);
+        prices = prices == null ? new double[newCapacity] : Arrays.copyOf(prices, newCapacity);
+        sizes = sizes == null ? new double[newCapacity] : Arrays.copyOf(sizes, newCapacity);
+        bedrooms = bedrooms == null ? new int[newCapacity] : Arrays.copyOf(bedrooms, newCapacity);
+        types = types == null ? new int[newCapacity] : Arrays.copyOf(types, newCapacity);
+        statuses = statuses == null ? new int[newCapacity] : Arrays.copyOf(statuses, newCapacity);
+        locations = locations == null ? new int[newCapacity] : Arrays.copyOf(locations, newCapacity);
+        bands = bands == null ? new int[newCapacity] : Arrays.copyOf(bands, newCapacity);
+        latitudes = latitudes == null ? new double[newCapacity] : Arrays.copyOf(latitudes, newCapacity);
+        longitudes = longitudes == null ? new double[newCapacity] : Arrays.copyOf(longitudes, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private static String normalize(String location) {
+        return location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static BitSet[] newBitSets(int count) {
+        BitSet[] sets = new BitSet[count];
+        Arrays.setAll(sets, i -> new BitSet());
+        return sets;
+    }
+}
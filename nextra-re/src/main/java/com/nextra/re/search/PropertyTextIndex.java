@@ -0,0 +1,324 @@
+package com.nextra.re.search;
+
+import com.nextra.re.persistence.model.Property;
+import com.nextra.re.persistence.repository.PropertyRepository;
+import jakarta.annotation.PostConstruct;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.it.ItalianAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene index over the free-text fields of properties (title,
+ * description, features, address), ranked with BM25.
+ *
+ * Each text field is indexed twice, once with the Italian and once with the
+ * English analyzer (elision, stop words, light stemming), since listings come
+ * in either language. A query word is matched against every field/language
+ * pair, and the best one counts (title weighs most). Words that are not a stop
+ * word in either language must all match. A separate, unstemmed "suggest"
+ * field over title and location serves prefix matching for autocomplete.
+ *
+ * The index lives in memory and follows property changes on the
+ * "text-index" thread (see {@link EntityChangeFollowingIndex}); each batch of
+ * writes becomes visible through a near-real-time SearcherManager refresh.
+ */
+@Component
+public class PropertyTextIndex extends EntityChangeFollowingIndex<PropertyTextRow> {
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String LOCATION = "location";
+    private static final String SUGGEST = "suggest";
+    private static final String[] LANGUAGES = {"it", "en"};
+    /** Searchable fields and their weight. */
+    private static final Map<String, Float> FIELDS = Map.of(
+            "title", 3.0f,
+            "features", 1.5f,
+            "description", 1.0f,
+            "address", 1.0f);
+    private static final int RELOAD_CHUNK = 500;
+    private static final int MIN_PREFIX = 2;
+
+    private final PropertyRepository propertyRepository;
+
+    private final Analyzer italian = new ItalianAnalyzer();
+    private final Analyzer english = new EnglishAnalyzer();
+    /** Lower-cased, accent-folded words; no stemming, no stop words. */
+    private final Analyzer plain = new Analyzer() {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    };
+
+    private ByteBuffersDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searchers;
+
+    public PropertyTextIndex(PropertyRepository propertyRepository, PlatformTransactionManager transactionManager) {
+        super(Property.class, "text-index", RELOAD_CHUNK, transactionManager);
+        this.propertyRepository = propertyRepository;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Map<String, Analyzer> perField = new HashMap<>();
+        for (String field : FIELDS.keySet()) {
+            perField.put(field + "_it", italian);
+            perField.put(field + "_en", english);
+        }
+        IndexWriterConfig config = new IndexWriterConfig(new PerFieldAnalyzerWrapper(plain, perField))
+                .setSimilarity(new BM25Similarity())
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        directory = new ByteBuffersDirectory();
+        writer = new IndexWriter(directory, config);
+        searchers = new SearcherManager(writer, null);
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        try {
+            searchers.close();
+            writer.close();
+            directory.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Ranked full-text search; {@code page} is zero-based.
+     */
+    public TextSearchResult search(String text, int page, int size) {
+        long start = System.nanoTime();
+        Query query = textQuery(text);
+        return withSearcher(searcher -> {
+            TopDocs top = searcher.search(query, (page + 1) * size);
+            List<TextHit> hits = new ArrayList<>();
+            for (int i = page * size; i < top.scoreDocs.length; i++) {
+                hits.add(toHit(searcher, top.scoreDocs[i]));
+            }
+            return new TextSearchResult(top.totalHits.value, page, size, hits, (System.nanoTime() - start) / 1_000);
+        });
+    }
+
+    /**
+     * Search-as-you-type over title and location: complete words must match,
+     * the last (partial) word matches as a prefix once it has two characters.
+     */
+    public List<TextHit> suggest(String text, int limit) {
+        List<String> words = analyze(plain, text);
+        if (words.isEmpty() || words.get(words.size() - 1).length() < MIN_PREFIX) {
+            return List.of();
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (int i = 0; i < words.size() - 1; i++) {
+            query.add(new TermQuery(new Term(SUGGEST, words.get(i))), BooleanClause.Occur.MUST);
+        }
+        query.add(new PrefixQuery(new Term(SUGGEST, words.get(words.size() - 1))), BooleanClause.Occur.MUST);
+        Sort byTitle = new Sort(SortField.FIELD_SCORE, new SortField(TITLE + "_sort", SortField.Type.STRING));
+        return withSearcher(searcher -> {
+            TopDocs top = searcher.search(query.build(), limit, byTitle, true);
+            List<TextHit> hits = new ArrayList<>();
+            for (ScoreDoc doc : top.scoreDocs) {
+                hits.add(toHit(searcher, doc));
+            }
+            return hits;
+        });
+    }
+
+    // ==================== Queries ====================
+
+    private Query textQuery(String text) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        int clauses = 0;
+        for (String word : analyze(plain, text)) {
+            List<Query> alternatives = new ArrayList<>();
+            boolean stopWord = false;
+            for (String language : LANGUAGES) {
+                List<String> terms = analyze(language.equals("it") ? italian : english, word);
+                if (terms.isEmpty()) {
+                    stopWord = true;
+                    continue;
+                }
+                FIELDS.forEach((field, boost) -> terms.forEach(term -> alternatives.add(
+                        new BoostQuery(new TermQuery(new Term(field + "_" + language, term)), boost))));
+            }
+            if (!alternatives.isEmpty()) {
+                query.add(new DisjunctionMaxQuery(alternatives, 0.1f),
+                        stopWord ? BooleanClause.Occur.SHOULD : BooleanClause.Occur.MUST);
+                clauses++;
+            }
+        }
+        return clauses == 0 ? new MatchNoDocsQuery() : query.build();
+    }
+
+    private static List<String> analyze(Analyzer analyzer, String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream("", text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private TextHit toHit(IndexSearcher searcher, ScoreDoc scoreDoc) throws IOException {
+        Document doc = searcher.storedFields().document(scoreDoc.doc);
+        return new TextHit(Long.valueOf(doc.get(ID)), doc.get(TITLE), doc.get(LOCATION),
+                Float.isNaN(scoreDoc.score) ? 0 : scoreDoc.score);
+    }
+
+    private interface SearcherCallback<R> {
+        R apply(IndexSearcher searcher) throws IOException;
+    }
+
+    private <R> R withSearcher(SearcherCallback<R> callback) {
+        try {
+            IndexSearcher searcher = searchers.acquire();
+            try {
+                searcher.setSimilarity(new BM25Similarity());
+                return callback.apply(searcher);
+            } finally {
+                searchers.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ==================== Updates (text-index thread only) ====================
+
+    @Override
+    protected Stream<PropertyTextRow> loadAll() {
+        return propertyRepository.streamTextRows();
+    }
+
+    @Override
+    protected List<PropertyTextRow> load(List<Long> ids) {
+        return propertyRepository.findTextRows(ids);
+    }
+
+    /** Lucene has its own concurrency control; publish the batch to readers once it is written. */
+    @Override
+    protected void write(Runnable changes) {
+        changes.run();
+        try {
+            searchers.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected void upsert(PropertyTextRow row) {
+        try {
+            writer.updateDocument(idTerm(row.id()), toDocument(row));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected void remove(Long id) {
+        try {
+            writer.deleteDocuments(idTerm(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected void clear() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Term idTerm(Long id) {
+        return new Term(ID, id.toString());
+    }
+
+    private static Document toDocument(PropertyTextRow row) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, row.id().toString(), Field.Store.YES));
+        doc.add(new StoredField(TITLE, nullToEmpty(row.title())));
+        doc.add(new StoredField(LOCATION, nullToEmpty(row.location())));
+        doc.add(new SortedDocValuesField(TITLE + "_sort",
+                new BytesRef(nullToEmpty(row.title()).toLowerCase(Locale.ROOT))));
+        addText(doc, "title", row.title());
+        addText(doc, "description", row.description());
+        addText(doc, "features", row.features());
+        addText(doc, "address", row.address());
+        doc.add(new TextField(SUGGEST, nullToEmpty(row.title()) + " " + nullToEmpty(row.location()), Field.Store.NO));
+        return doc;
+    }
+
+    private static void addText(Document doc, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            for (String language : LANGUAGES) {
+                doc.add(new TextField(field + "_" + language, value, Field.Store.NO));
+            }
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,16 @@
+package com.nextra.re.search;
+
+/**
+ * Free-text fields of a property as fed to {@link PropertyTextIndex}
+ * (see PropertyRepository#streamTextRows).
+ */
+public record PropertyTextRow(
+        Long id,
+        String title,
+        String description,
+        String features,
+        String address,
+        String location,
+        boolean deleted
+) implements IndexedRow {
+}
@@ -0,0 +1,7 @@
+package com.nextra.re.search;
+
+/**
+ * A full-text or autocomplete match; {@code score} is the BM25 relevance.
+ */
+public record TextHit(Long id, String title, String location, float score) {
+}
@@ -0,0 +1,9 @@
+package com.nextra.re.search;
+
+import java.util.List;
+
+/**
+ * One page of full-text hits, best first. {@code total} counts every match.
+ */
+public record TextSearchResult(long total, int page, int size, List<TextHit> hits, long tookMicros) {
+}
@@ -0,0 +1,96 @@
+package com.nextra.re.search;
+
+/**
+ * The {@code limit} best row slots by score, highest first, ties by the
+ * lower id. A bounded min-heap over primitive arrays: a candidate that
+ * cannot beat the current worst is rejected with one comparison, which
+ * matters when tens of thousands of rows match and only a page is shown.
+ */
+final class TopScores {
+
+    private final int limit;
+    private final int[] slots;
+    private final double[] scores;
+    private final long[] ids;
+    private int size;
+
+    TopScores(int limit) {
+        this.limit = limit;
+        this.slots = new int[limit];
+        this.scores = new double[limit];
+        this.ids = new long[limit];
+    }
+
+    void offer(int slot, double score, long id) {
+        if (size < limit) {
+            set(size, slot, score, id);
+            siftUp(size++);
+        } else if (limit > 0 && better(score, id, 0)) {
+            set(0, slot, score, id);
+            siftDown(0);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Empties the heap; entry {@code i} of the returned slots has score {@code scoresOut[i]}. */
+    int[] drainBestFirst(double[] scoresOut) {
+        int count = size;
+        int[] result = new int[count];
+        for (int i = count - 1; i >= 0; i--) { // the root is the worst of what is left
+            result[i] = slots[0];
+            scoresOut[i] = scores[0];
+            set(0, slots[size - 1], scores[size - 1], ids[size - 1]);
+            size--;
+            siftDown(0);
+        }
+        return result;
+    }
+
+    /** Whether (score, id) ranks above the entry at heap position {@code i}. */
+    private boolean better(double score, long id, int i) {
+        return score > scores[i] || (score == scores[i] && id < ids[i]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!better(scores[parent], ids[parent], i)) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int worst = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && better(scores[worst], ids[worst], left)) worst = left;
+            if (right < size && better(scores[worst], ids[worst], right)) worst = right;
+            if (worst == i) {
+                return;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void set(int i, int slot, double score, long id) {
+        slots[i] = slot;
+        scores[i] = score;
+        ids[i] = id;
+    }
+
+    private void swap(int a, int b) {
+        int slot = slots[a];
+        double score = scores[a];
+        long id = ids[a];
+        set(a, slots[b], scores[b], ids[b]);
+        set(b, slot, score, id);
+    }
+}
@@ -0,0 +1,87 @@
+package com.nextra.re;
+
+import com.nextra.re.persistence.model.Client;
+import com.nextra.re.persistence.model.Property;
+import com.nextra.re.search.ClientMatchIndex;
+import com.nextra.re.search.PropertySearchIndex;
+import com.nextra.re.search.PropertyTextIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+/**
+ * Base of the tests that work on properties and clients. Every test starts
+ * from empty property and client tables, whatever ran before it, and the
+ * in-memory indexes are rebuilt to match; so assertions can count rows
+ * without fencing their data off by location or price.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+abstract class AbstractIntegrationTest {
+
+    @Autowired
+    protected MockMvc mvc;
+
+    @Autowired
+    protected PropertySearchIndex searchIndex;
+
+    @Autowired
+    protected PropertyTextIndex textIndex;
+
+    @Autowired
+    protected ClientMatchIndex clientMatchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void startEmpty() {
+        deleteAll();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        deleteAll();
+    }
+
+    /**
+     * Blocks until every index has applied the changes made so far.
+     */
+    protected void awaitIndexes() {
+        searchIndex.awaitPendingUpdates();
+        textIndex.awaitPendingUpdates();
+        clientMatchIndex.awaitPendingUpdates();
+    }
+
+    protected static Property.PropertyBuilder<?, ?> property(String title) {
+        return Property.builder().title(title);
+    }
+
+    protected static Client.ClientBuilder<?, ?> client(String name) {
+        return Client.builder().name(name);
+    }
+
+    protected static BigDecimal euros(long amount) {
+        return BigDecimal.valueOf(amount);
+    }
+
+    /** Hard-deletes bypass the change events, so the indexes are rebuilt afterwards. */
+    private void deleteAll() {
+        awaitIndexes();
+        jdbc.update("DELETE FROM property_images");
+        jdbc.update("DELETE FROM properties");
+        jdbc.update("DELETE FROM clients");
+        searchIndex.rebuildAsync();
+        textIndex.rebuildAsync();
+        clientMatchIndex.rebuildAsync();
+        awaitIndexes();
+    }
+}
@@ -0,0 +1,66 @@
+package com.nextra.re;
+
+import com.nextra.core.persistence.event.EntityChangeEvent;
+import com.nextra.re.persistence.model.Property;
+import com.nextra.re.persistence.repository.PropertyRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RecordApplicationEvents
+class BatchSoftDeleteTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void batch_changes_report_only_the_rows_they_changed() throws Exception {
+        List<Property> saved = propertyRepository.saveAll(List.of(
+                property("Active").price(euros(100)).build(),
+                property("Already deleted").price(euros(200)).build()));
+        long active = saved.get(0).getId();
+        long deleted = saved.get(1).getId();
+        mvc.perform(delete("/api/properties/" + deleted)).andExpect(status().is2xxSuccessful());
+        events.clear();
+
+        batch("delete", active, deleted, Long.MAX_VALUE).andExpect(jsonPath("$.data.affected").value(1));
+        assertThat(changes(EntityChangeEvent.Kind.DELETED)).containsExactly(Set.of(active));
+
+        events.clear();
+        batch("delete", active, deleted).andExpect(jsonPath("$.data.affected").value(0));
+        assertThat(changes(EntityChangeEvent.Kind.DELETED)).isEmpty();
+
+        propertyRepository.restore(active);
+        batch("restore", active, deleted).andExpect(jsonPath("$.data.affected").value(1));
+        assertThat(changes(EntityChangeEvent.Kind.RESTORED)).containsExactly(Set.of(deleted));
+    }
+
+    private ResultActions batch(String action, Long... ids) throws Exception {
+        return mvc.perform(post("/api/properties/batch/" + action)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(List.of(ids).toString()))
+                .andExpect(status().isOk());
+    }
+
+    private List<Set<Long>> changes(EntityChangeEvent.Kind kind) {
+        return events.stream(EntityChangeEvent.class)
+                .filter(event -> event.kind() == kind && event.concerns(Property.class))
+                .map(EntityChangeEvent::ids)
+                .toList();
+    }
+}
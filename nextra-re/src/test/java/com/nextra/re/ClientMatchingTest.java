@@ -0,0 +1,84 @@
+package com.nextra.re;
+
+import com.nextra.core.logging.SqlStatsHeaders;
+import com.nextra.re.persistence.model.Client;
+import com.nextra.re.persistence.model.Property;
+import com.nextra.re.persistence.model.PropertyStatus;
+import com.nextra.re.persistence.model.PropertyType;
+import com.nextra.re.persistence.service.ClientService;
+import com.nextra.re.persistence.service.PropertyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ClientMatchingTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Test
+    void clients_and_properties_match_both_ways() throws Exception {
+        Client anna = clientService.save(client("Anna").preferredBudgetMin(euros(880_000)).preferredBudgetMax(euros(900_000))
+                .preferredLocations("Siena; Arezzo").preferredPropertyTypes("apartment, VILLA")
+                .preferredSizeMin(80.0).preferredSizeMax(120.0).build());
+        Client bruno = clientService.save(client("Bruno").preferredBudgetMin(euros(850_000)).preferredLocations("SIENA").build());
+        clientService.save(client("Carla").preferredBudgetMin(euros(100_000)).preferredBudgetMax(euros(200_000))
+                .preferredLocations("Siena").build());
+        clientService.save(client("Dario").preferredLocations("Arezzo").build());
+        Property flat = propertyService.save(listing("Flat", "Centro, Siena", PropertyType.APARTMENT, PropertyStatus.AVAILABLE, 888_500, 100.0));
+        propertyService.save(listing("Villa", "Siena", PropertyType.VILLA, PropertyStatus.AVAILABLE, 895_000, 200.0));
+        propertyService.save(listing("Loft", "Siena", PropertyType.APARTMENT, PropertyStatus.SOLD, 888_500, 100.0));
+        awaitIndexes();
+
+        // Anna fits on every dimension, Bruno on budget and location; clients without preferences trail with 0
+        mvc.perform(get("/api/properties/{id}/matching-clients", flat.getId()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatsHeaders.STATEMENTS, "0"))
+                .andExpect(jsonPath("$.data.hits[*].name", contains("Anna", "Bruno")))
+                .andExpect(jsonPath("$.data.hits[0].score").value(0.94))
+                .andExpect(jsonPath("$.data.hits[1].score").value(0.5));
+
+        // the villa is too big for Anna, the loft is sold
+        mvc.perform(get("/api/clients/{id}/matching-properties", anna.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatsHeaders.STATEMENTS, "0"))
+                .andExpect(jsonPath("$.data.total").value(1))
+                .andExpect(jsonPath("$.data.hits[0].property.title").value("Flat"));
+        mvc.perform(get("/api/clients/{id}/matching-properties", bruno.getId()))
+                .andExpect(jsonPath("$.data.hits[*].property.title", contains("Flat", "Villa")));
+
+        // budget overlap: each client once, no matter how many bounds match
+        mvc.perform(get("/api/clients/budget").param("min", "880000").param("max", "880000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].name", contains("Anna", "Bruno")));
+
+        anna.setPreferredBudgetMin(euros(100_000));
+        anna.setPreferredBudgetMax(euros(200_000));
+        clientService.update(anna.getId(), anna);
+        clientMatchIndex.awaitPendingUpdates();
+
+        mvc.perform(get("/api/properties/{id}/matching-clients", flat.getId()).param("limit", "100"))
+                .andExpect(jsonPath("$.data.hits[*].name", not(hasItem("Anna"))));
+    }
+
+    private static Property listing(String title, String location, PropertyType type, PropertyStatus status,
+                                    long price, double size) {
+        return property(title)
+                .location(location)
+                .propertyType(type)
+                .status(status)
+                .price(euros(price))
+                .size(size)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.nextra.re;
+
+import com.nextra.core.logging.SqlStatsHeaders;
+import com.nextra.re.persistence.model.Property;
+import com.nextra.re.persistence.model.PropertyType;
+import com.nextra.re.persistence.repository.PropertyRepository;
+import com.nextra.re.persistence.service.PropertyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GeoSearchTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Test
+    void radius_box_and_nearest_queries_combine_with_filters() throws Exception {
+        Property duomo = propertyService.save(listing("Duomo", "Firenze", PropertyType.APARTMENT));
+        assertThat(duomo.getLatitude()).isEqualTo(43.7696); // geocoded from the gazetteer on save
+        Property oltrarno = listing("Oltrarno", "Firenze", PropertyType.VILLA);
+        oltrarno.setLatitude(43.7650);
+        oltrarno.setLongitude(11.2480);
+        propertyService.save(oltrarno);
+        propertyService.save(listing("Prato", "Via Roma 1, Prato", PropertyType.APARTMENT));
+        propertyService.save(listing("Pisa", "Pisa", PropertyType.APARTMENT));
+        propertyService.save(listing("Unknown", "Nowhere", PropertyType.APARTMENT));
+        searchIndex.awaitPendingUpdates();
+
+        mvc.perform(get("/api/properties/geo/radius")
+                        .param("lat", "43.7696").param("lon", "11.2558").param("radiusKm", "20"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatsHeaders.STATEMENTS, "0"))
+                .andExpect(jsonPath("$.data.hits[*].title", contains("Duomo", "Oltrarno", "Prato")))
+                .andExpect(jsonPath("$.data.hits[0].distanceKm").value(0.0));
+
+        mvc.perform(get("/api/properties/geo/radius")
+                        .param("lat", "43.7696").param("lon", "11.2558").param("radiusKm", "20")
+                        .param("propertyType", "APARTMENT"))
+                .andExpect(jsonPath("$.data.hits[*].title", contains("Duomo", "Prato")));
+
+        mvc.perform(get("/api/properties/geo/box")
+                        .param("minLat", "43.70").param("minLon", "11.00")
+                        .param("maxLat", "43.90").param("maxLon", "11.30")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(3))
+                .andExpect(jsonPath("$.data.truncated").value(true))
+                .andExpect(jsonPath("$.data.hits.length()").value(2));
+
+        mvc.perform(get("/api/properties/geo/nearest")
+                        .param("lat", "43.7228").param("lon", "10.4017").param("k", "2")
+                        .param("propertyType", "APARTMENT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.hits[*].title", contains("Pisa", "Prato")));
+    }
+
+    @Test
+    void geocode_backfills_existing_rows() throws Exception {
+        Property lucca = propertyRepository.save(listing("Lucca walls", "Centro storico, Lucca", PropertyType.HOUSE));
+        assertThat(lucca.getLatitude()).isNull();
+
+        mvc.perform(post("/api/properties/geocode"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.geocoded").value(1));
+        searchIndex.awaitPendingUpdates();
+
+        assertThat(propertyRepository.findById(lucca.getId()).orElseThrow().getLatitude()).isEqualTo(43.8429);
+        mvc.perform(get("/api/properties/geo/radius")
+                        .param("lat", "43.8429").param("lon", "10.5027").param("radiusKm", "1"))
+                .andExpect(jsonPath("$.data.hits[*].title", contains("Lucca walls")));
+    }
+
+    private static Property listing(String title, String location, PropertyType type) {
+        return property(title)
+                .location(location)
+                .propertyType(type)
+                .build();
+    }
+}
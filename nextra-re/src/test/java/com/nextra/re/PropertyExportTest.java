@@ -0,0 +1,114 @@
+package com.nextra.re;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nextra.re.persistence.model.Account;
+import com.nextra.re.persistence.model.Category;
+import com.nextra.re.persistence.model.Property;
+import com.nextra.re.persistence.repository.AccountRepository;
+import com.nextra.re.persistence.repository.CategoryRepository;
+import com.nextra.re.persistence.repository.PropertyRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PropertyExportTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void soft_deleted_properties_are_exported_only_on_request() throws Exception {
+        List<Property> saved = saveProperties(2, "Kept");
+        mvc.perform(delete("/api/properties/" + saved.get(1).getId()))
+                .andExpect(status().is2xxSuccessful());
+        awaitIndexes();
+
+        assertThat(export("")).extracting(row -> row.get("id").asLong())
+                .containsExactly(saved.get(0).getId());
+
+        List<JsonNode> all = export("?includeDeleted=true");
+        assertThat(all).extracting(row -> row.get("id").asLong())
+                .containsExactly(saved.get(0).getId(), saved.get(1).getId());
+        assertThat(all.get(1).get("ownerName").asText()).isEqualTo("Kept owner");
+        assertThat(all.get(1).get("categoryName").asText()).isEqualTo("Kept");
+        assertThat(all.get(1).get("images")).hasSize(2);
+    }
+
+    @Test
+    void export_crosses_the_persistence_context_clears_at_a_fixed_query_count() throws Exception {
+        // 520 rows cross the clear every 500 (BaseServiceImpl#streamAll) with two image rows each
+        List<Property> saved = saveProperties(520, "Bulk");
+        awaitIndexes();
+
+        // active rows: one fetch-joined cursor; all rows: per 500-row chunk, the rows and their images
+        Map<String, Long> statementBudgets = Map.of("", 1L, "?includeDeleted=true", 4L);
+        for (Map.Entry<String, Long> budget : statementBudgets.entrySet()) {
+            String query = budget.getKey();
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            long before = statistics.getPrepareStatementCount();
+            List<JsonNode> rows = export(query);
+
+            assertThat(statistics.getPrepareStatementCount() - before).as(query).isEqualTo(budget.getValue());
+            assertThat(rows).hasSize(saved.size());
+            Map<Long, JsonNode> byId = rows.stream()
+                    .collect(Collectors.toMap(row -> row.get("id").asLong(), Function.identity()));
+            assertThat(byId.keySet()).containsExactlyInAnyOrderElementsOf(saved.stream().map(Property::getId).toList());
+            assertThat(rows).allSatisfy(row -> {
+                assertThat(row.get("images")).extracting(JsonNode::asText).containsExactlyInAnyOrder("a.jpg", "b.jpg");
+                assertThat(row.get("ownerName").asText()).isEqualTo("Bulk owner");
+            });
+        }
+    }
+
+    private List<JsonNode> export(String query) throws Exception {
+        String body = mvc.perform(get("/api/properties/export" + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private List<Property> saveProperties(int count, String title) {
+        Account owner = accountRepository.save(Account.builder()
+                .name(title + " owner").email(UUID.randomUUID() + "@example.com").build());
+        Category category = categoryRepository.save(Category.builder().name(title).build());
+        List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            properties.add(property(title + " " + i).price(euros(1000 + i)).owner(owner).category(category)
+                    .images(new ArrayList<>(List.of("a.jpg", "b.jpg"))).build());
+        }
+        return propertyRepository.saveAll(properties);
+    }
+}
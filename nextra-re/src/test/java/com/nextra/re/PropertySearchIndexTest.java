@@ -0,0 +1,73 @@
+package com.nextra.re;
+
+import com.nextra.core.logging.SqlStatsHeaders;
+import com.nextra.re.persistence.model.Property;
+import com.nextra.re.persistence.model.PropertyStatus;
+import com.nextra.re.persistence.model.PropertyType;
+import com.nextra.re.persistence.service.PropertyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PropertySearchIndexTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Test
+    void facets_follow_saves_and_soft_deletes_without_sql() throws Exception {
+        Property flat = propertyService.save(listing("Flat", "Lucca", PropertyType.APARTMENT, PropertyStatus.AVAILABLE, 2, 150_000));
+        propertyService.save(listing("Loft", "Lucca", PropertyType.APARTMENT, PropertyStatus.SOLD, 1, 90_000));
+        propertyService.save(listing("Villa", "Lucca", PropertyType.VILLA, PropertyStatus.AVAILABLE, 4, 450_000));
+        propertyService.save(listing("Cottage", "Pisa", PropertyType.HOUSE, PropertyStatus.AVAILABLE, 3, 250_000));
+        searchIndex.awaitPendingUpdates();
+
+        mvc.perform(get("/api/properties/facets")
+                        .param("location", "LUCCA")
+                        .param("propertyType", "APARTMENT")
+                        .param("sort", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatsHeaders.STATEMENTS, "0"))
+                .andExpect(jsonPath("$.data.total").value(2))
+                .andExpect(jsonPath("$.data.hits[*].title", contains("Flat", "Loft")))
+                // the type facet ignores its own filter: the villa is still counted
+                .andExpect(jsonPath("$.data.facets.propertyType.APARTMENT").value(2))
+                .andExpect(jsonPath("$.data.facets.propertyType.VILLA").value(1))
+                .andExpect(jsonPath("$.data.facets.status.AVAILABLE").value(1))
+                .andExpect(jsonPath("$.data.facets.status.SOLD").value(1))
+                .andExpect(jsonPath("$.data.facets.priceBand['0-100000']").value(1))
+                .andExpect(jsonPath("$.data.facets.priceBand['100000-200000']").value(1));
+
+        propertyService.delete(flat.getId());
+        searchIndex.awaitPendingUpdates();
+
+        mvc.perform(get("/api/properties/facets").param("location", "Lucca"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(2))
+                .andExpect(jsonPath("$.data.hits[*].title", contains("Loft", "Villa")))
+                .andExpect(jsonPath("$.data.facets.bedrooms['2']").doesNotExist());
+
+        propertyService.restore(flat.getId());
+        searchIndex.awaitPendingUpdates();
+
+        mvc.perform(get("/api/properties/facets").param("location", "Lucca").param("minBedrooms", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.hits[*].title", contains("Flat", "Villa")));
+    }
+
+    private static Property listing(String title, String location, PropertyType type, PropertyStatus status,
+                                    int bedrooms, long price) {
+        return property(title)
+                .location(location)
+                .propertyType(type)
+                .status(status)
+                .bedrooms(bedrooms)
+                .price(euros(price))
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.nextra.re;
+
+import com.nextra.core.logging.SqlStatsHeaders;
+import com.nextra.core.persistence.pagination.CursorPage;
+import com.nextra.re.persistence.model.Property;
+import com.nextra.re.persistence.model.PropertyStatus;
+import com.nextra.re.persistence.model.PropertyType;
+import com.nextra.re.persistence.repository.PropertyRepository;
+import com.nextra.re.persistence.service.PropertyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PropertySearchTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Test
+    void search_combines_filters_in_a_single_query() throws Exception {
+        propertyRepository.saveAll(List.of(
+                listing("Flat A", "Firenze, Centro", PropertyType.APARTMENT, PropertyStatus.AVAILABLE, 2, 250_000),
+                listing("Flat B", "Firenze, Centro", PropertyType.APARTMENT, PropertyStatus.AVAILABLE, 3, 320_000),
+                listing("Flat C", "Firenze, Centro", PropertyType.APARTMENT, PropertyStatus.SOLD, 3, 300_000),
+                listing("Villa D", "Firenze, Centro", PropertyType.VILLA, PropertyStatus.AVAILABLE, 5, 390_000),
+                listing("Villa E", "Firenze, Centro", PropertyType.VILLA, PropertyStatus.AVAILABLE, 4, 900_000),
+                listing("House F", "Firenze, Centro", PropertyType.HOUSE, PropertyStatus.AVAILABLE, 3, 280_000),
+                listing("Flat G", "Pisa", PropertyType.APARTMENT, PropertyStatus.AVAILABLE, 3, 310_000)));
+
+        mvc.perform(get("/api/properties/search")
+                        .param("location", "firenze")
+                        .param("propertyType", "APARTMENT,VILLA")
+                        .param("status", "AVAILABLE")
+                        .param("minBedrooms", "3")
+                        .param("maxPrice", "400000")
+                        .param("sort", "price,desc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatsHeaders.STATEMENTS, "1"))
+                .andExpect(jsonPath("$.data.content[*].title", contains("Villa D", "Flat B")))
+                .andExpect(jsonPath("$.data.totalAccuracy").value("UNKNOWN"));
+
+        mvc.perform(get("/api/properties/search")
+                        .param("location", "Firenze")
+                        .param("status", "AVAILABLE")
+                        .param("size", "2")
+                        .param("total", "exact"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatsHeaders.STATEMENTS, "2"))
+                .andExpect(jsonPath("$.data.content.length()").value(2))
+                .andExpect(jsonPath("$.data.totalElements").value(5))
+                .andExpect(jsonPath("$.data.last").value(false));
+    }
+
+    @Test
+    void search_rejects_bad_input() throws Exception {
+        mvc.perform(get("/api/properties/search").param("minPrice", "10").param("maxPrice", "5"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/properties/search").param("sort", "description"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void scroll_visits_every_row_once_with_null_prices_last() {
+        propertyRepository.saveAll(List.of(
+                property("Priced 1").price(euros(410_000)).build(),
+                property("Priced 2").price(euros(390_000)).build(),
+                property("Priced 3").price(euros(410_000)).build(),
+                property("Unpriced 1").build(),
+                property("Unpriced 2").build()));
+        List<Property> active = propertyRepository.findAllActive();
+
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            Comparator<BigDecimal> prices = direction.isAscending() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+            Comparator<Long> ids = direction.isAscending() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+            Comparator<Property> order = Comparator.comparing(Property::getPrice, Comparator.nullsLast(prices))
+                    .thenComparing(Property::getId, ids);
+            List<Long> expected = active.stream().sorted(order).map(Property::getId).toList();
+
+            List<Long> scrolled = new ArrayList<>();
+            String cursor = null;
+            do {
+                CursorPage<Property> page = propertyService.findAllByCursor(cursor, 3, new Sort.Order(direction, "price"), false);
+                page.content().forEach(property -> scrolled.add(property.getId()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            assertThat(scrolled).as(direction.name()).containsExactlyElementsOf(expected);
+        }
+    }
+
+    private static Property listing(String title, String location, PropertyType type, PropertyStatus status,
+                                    int bedrooms, long price) {
+        return property(title)
+                .location(location)
+                .propertyType(type)
+                .status(status)
+                .bedrooms(bedrooms)
+                .price(euros(price))
+                .build();
+    }
+}
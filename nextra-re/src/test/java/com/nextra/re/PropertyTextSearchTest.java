@@ -0,0 +1,60 @@
+package com.nextra.re;
+
+import com.nextra.core.logging.SqlStatsHeaders;
+import com.nextra.re.persistence.model.Property;
+import com.nextra.re.persistence.service.PropertyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PropertyTextSearchTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Test
+    void text_search_ranks_stems_and_follows_changes() throws Exception {
+        Property attico = propertyService.save(property("Attico con terrazza panoramica")
+                .description("Splendido attico con terrazze e cucina abitabile").location("Milano").build());
+        propertyService.save(property("Bilocale in centro")
+                .description("Appartamento luminoso, vicino alla terrazza comune del palazzo").location("Milano").build());
+        propertyService.save(property("Seaside villa")
+                .description("Bright villa with large kitchens and a private garden").location("Marina di Pisa").build());
+        textIndex.awaitPendingUpdates();
+
+        // Italian stemming (terrazze/terrazza) and the title boost decide the order
+        mvc.perform(get("/api/properties/text-search").param("q", "la terrazza"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatsHeaders.STATEMENTS, "0"))
+                .andExpect(jsonPath("$.data.total").value(2))
+                .andExpect(jsonPath("$.data.hits[*].title", contains("Attico con terrazza panoramica", "Bilocale in centro")));
+
+        // English stemming, every non-stop word must match
+        mvc.perform(get("/api/properties/text-search").param("q", "kitchen garden"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.hits[*].title", contains("Seaside villa")));
+
+        mvc.perform(get("/api/properties/suggest").param("q", "mari"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].title", contains("Seaside villa")));
+
+        propertyService.delete(attico.getId());
+        textIndex.awaitPendingUpdates();
+
+        mvc.perform(get("/api/properties/text-search").param("q", "terrazza"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.hits[*].title", contains("Bilocale in centro")));
+    }
+
+    @Test
+    void text_search_rejects_pages_beyond_the_result_window() throws Exception {
+        mvc.perform(get("/api/properties/text-search").param("q", "terrazza")
+                        .param("page", String.valueOf(Integer.MAX_VALUE)).param("size", "20"))
+                .andExpect(status().isBadRequest());
+    }
+}
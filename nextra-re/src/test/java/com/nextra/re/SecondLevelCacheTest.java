@@ -0,0 +1,52 @@
+package com.nextra.re;
+
+import com.nextra.core.persistence.cache.BoundedJCacheRegionFactory;
+import com.nextra.core.persistence.cache.CacheRegionStats;
+import com.nextra.re.persistence.model.Category;
+import com.nextra.re.persistence.repository.CategoryRepository;
+import com.nextra.re.persistence.service.CategoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BoundedJCacheRegionFactory regionFactory;
+
+    @Test
+    void category_reads_hit_the_cache_and_soft_delete_evicts_it() {
+        Long id = categoryService.save(Category.builder().name("Cached-" + System.nanoTime()).build()).getId();
+
+        categoryService.findById(id);
+        long hitsBefore = categoryStats().hits();
+        assertThat(categoryService.findById(id)).isPresent();
+        assertThat(categoryStats().hits()).isGreaterThan(hitsBefore);
+
+        categoryService.delete(id);
+        assertThat(categoryService.findById(id)).hasValueSatisfying(c -> assertThat(c.isDeleted()).isTrue());
+        assertThat(categoryRepository.findAllActive()).extracting(Category::getId).doesNotContain(id);
+
+        categoryService.restore(id);
+        assertThat(categoryService.findById(id)).hasValueSatisfying(c -> assertThat(c.isDeleted()).isFalse());
+        assertThat(categoryRepository.findAllActive()).extracting(Category::getId).contains(id);
+    }
+
+    private CacheRegionStats categoryStats() {
+        List<CacheRegionStats> regions = regionFactory.regionStats();
+        return regions.stream().filter(r -> r.region().equals("category")).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,100 @@
+package com.nextra.re;
+
+import com.nextra.core.logging.SqlStatsHeaders;
+import com.nextra.re.persistence.model.Account;
+import com.nextra.re.persistence.model.Category;
+import com.nextra.re.persistence.model.Property;
+import com.nextra.re.persistence.repository.AccountRepository;
+import com.nextra.re.persistence.repository.CategoryRepository;
+import com.nextra.re.persistence.repository.PropertyRepository;
+import com.nextra.re.search.PropertySearchIndex;
+import com.nextra.re.search.PropertyTextIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"}) // dev: open security, test: fail over budget
+class SqlBudgetTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PropertySearchIndex searchIndex;
+
+    @Autowired
+    private PropertyTextIndex textIndex;
+
+    @Test
+    void property_listings_stay_within_their_sql_budget() throws Exception {
+        Account owner = accountRepository.save(Account.builder().name("Owner").email("budget@example.com").build());
+        List<Property> properties = saveProperties(owner, "Budget");
+
+        mvc.perform(get("/api/properties/list"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatsHeaders.STATEMENTS, "1"));
+        mvc.perform(get("/api/properties/owner/" + owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatsHeaders.STATEMENTS, "1"))
+                .andExpect(header().string(SqlStatsHeaders.ENTITY_LOADS, "0"));
+        mvc.perform(get("/api/properties/" + properties.get(0).getId() + "/detail"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatsHeaders.STATEMENTS, "1"));
+    }
+
+    @Test
+    void export_fetches_relations_in_the_stream_query() throws Exception {
+        Account owner = accountRepository.save(Account.builder().name("Exporter").email("export@example.com").build());
+        saveProperties(owner, "Export");
+        searchIndex.awaitPendingUpdates();
+        textIndex.awaitPendingUpdates();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        String body = mvc.perform(get("/api/properties/export"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(statistics.getPrepareStatementCount() - before).isEqualTo(1);
+        assertThat(body).contains("\"ownerName\":\"Exporter\"", "b.jpg");
+    }
+
+    private List<Property> saveProperties(Account owner, String title) {
+        Category category = categoryRepository.save(Category.builder().name(title).build());
+        List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            properties.add(Property.builder().title(title + " " + i).price(BigDecimal.valueOf(1000 + i))
+                    .owner(owner).category(category).images(new ArrayList<>(List.of("a.jpg", "b.jpg"))).build());
+        }
+        return propertyRepository.saveAll(properties);
+    }
+}